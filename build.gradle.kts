@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.github.oleksandrkukotin"
@@ -26,6 +27,21 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
 }
 
+val vectorModuleArgs = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(vectorModuleArgs)
+}
+
+tasks.withType<JavaExec>().configureEach {
+    jvmArgs(vectorModuleArgs)
+}
+
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(vectorModuleArgs)
+}
+
+jmh {
+    jvmArgsAppend.addAll(vectorModuleArgs)
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ParticleUpdaterBenchmark {
+
+    private static final int PARTICLES = 1 << 20;
+    private static final float DELTA_TIME = 1.0f / 60.0f;
+    // Share of particles that expire during the measured update, so compaction has real work to do
+    private static final double DYING_FRACTION = 0.02;
+
+    @Param({"true", "false"})
+    public boolean vectorApi;
+
+    private ParticleStorage particles;
+    private ParticleUpdater updater;
+
+    @Setup(Level.Trial)
+    public void createUpdater() {
+        particles = new ParticleStorage(PARTICLES);
+        updater = new ParticleUpdater(-9.81f, vectorApi);
+    }
+
+    // One update is milliseconds of work, so refilling per invocation does not distort the measurement
+    @Setup(Level.Invocation)
+    public void refill() {
+        particles.setAliveCount(0);
+        SplittableRandom random = new SplittableRandom(7L);
+        for (int i = 0; i < PARTICLES; i++) {
+            float lifetime = random.nextDouble() < DYING_FRACTION ? DELTA_TIME * 0.5f : 2.0f;
+            particles.spawn(0.0f, 0.0f, 0.0f,
+                    (float) random.nextDouble(-3.0, 3.0), (float) random.nextDouble(8.0, 12.0),
+                    (float) random.nextDouble(-3.0, 3.0),
+                    1.0f, 0.5f, 0.1f, lifetime);
+        }
+    }
+
+    @Benchmark
+    public int updateAndCompact() {
+        updater.update(particles, DELTA_TIME);
+        return particles.getAliveCount();
+    }
+}
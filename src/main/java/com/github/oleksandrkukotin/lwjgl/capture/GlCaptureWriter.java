@@ -0,0 +1,110 @@
+package com.github.oleksandrkukotin.lwjgl.capture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class GlCaptureWriter implements AutoCloseable {
+
+    public static final int MAGIC = 0x474C4341;
+    public static final int VERSION = 1;
+
+    private static final int STAGING_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    // Native order lets the replayer hand buffer payloads straight to GL from the mapped file
+    private final ByteBuffer staging = ByteBuffer.allocateDirect(STAGING_BYTES).order(ByteOrder.nativeOrder());
+
+    public GlCaptureWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        staging.putInt(MAGIC).putInt(VERSION);
+    }
+
+    public GlCaptureWriter command(GlCommand command) {
+        ensureCapacity(1);
+        staging.put((byte) command.ordinal());
+        return this;
+    }
+
+    public GlCaptureWriter putInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        staging.putInt(value);
+        return this;
+    }
+
+    public GlCaptureWriter putLong(long value) {
+        ensureCapacity(Long.BYTES);
+        staging.putLong(value);
+        return this;
+    }
+
+    public GlCaptureWriter putFloat(float value) {
+        ensureCapacity(Float.BYTES);
+        staging.putFloat(value);
+        return this;
+    }
+
+    public GlCaptureWriter putBoolean(boolean value) {
+        ensureCapacity(1);
+        staging.put((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    public GlCaptureWriter putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        ensureCapacity(bytes.length);
+        staging.put(bytes);
+        return this;
+    }
+
+    public GlCaptureWriter putBytes(ByteBuffer bytes) {
+        putInt(bytes.remaining());
+        if (bytes.remaining() > staging.capacity()) {
+            flush();
+            write(bytes.duplicate());
+        } else {
+            ensureCapacity(bytes.remaining());
+            staging.put(bytes.duplicate());
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (staging.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        staging.flip();
+        write(staging);
+        staging.clear();
+    }
+
+    private void write(ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
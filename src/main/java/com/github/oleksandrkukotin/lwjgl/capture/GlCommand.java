@@ -0,0 +1,35 @@
+package com.github.oleksandrkukotin.lwjgl.capture;
+
+// Ordinals are written to capture files, so new commands go at the end
+public enum GlCommand {
+    CLEAR_COLOR,
+    CLEAR,
+    VIEWPORT,
+    ENABLE,
+    CREATE_PROGRAM,
+    USE_PROGRAM,
+    DELETE_PROGRAM,
+    GET_UNIFORM_LOCATION,
+    UNIFORM_MATRIX_4FV,
+    UNIFORM_3F,
+    GEN_BUFFER,
+    DELETE_BUFFER,
+    GEN_VERTEX_ARRAY,
+    DELETE_VERTEX_ARRAY,
+    BIND_VERTEX_ARRAY,
+    BIND_BUFFER,
+    BUFFER_DATA,
+    VERTEX_ATTRIB_POINTER,
+    ENABLE_VERTEX_ATTRIB_ARRAY,
+    DRAW_ELEMENTS,
+    END_FRAME;
+
+    private static final GlCommand[] VALUES = values();
+
+    public static GlCommand fromId(int id) {
+        if (id < 0 || id >= VALUES.length) {
+            throw new IllegalStateException("Unknown GL command id " + id);
+        }
+        return VALUES[id];
+    }
+}
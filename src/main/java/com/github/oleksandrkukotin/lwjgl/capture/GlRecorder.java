@@ -0,0 +1,248 @@
+package com.github.oleksandrkukotin.lwjgl.capture;
+
+import com.github.oleksandrkukotin.lwjgl.core.ShaderProgram;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memByteBuffer;
+
+// Issues GL calls and, while a capture is running, appends each one to the capture file.
+// Captures hold no snapshot of existing GL state, which is why the only way to start one is fromSystemProperties(),
+// before the recorder has issued any call.
+public class GlRecorder {
+
+    public static final String CAPTURE_FILE_PROPERTY = "gl.capture.file";
+    public static final String CAPTURE_FRAMES_PROPERTY = "gl.capture.frames";
+    private static final int DEFAULT_CAPTURE_FRAMES = 300;
+
+    private GlCaptureWriter writer;
+    private Path captureFile;
+    private int capturedFrames;
+    private int framesRemaining;
+
+    public static GlRecorder passThrough() {
+        return new GlRecorder();
+    }
+
+    public static GlRecorder fromSystemProperties() {
+        GlRecorder recorder = new GlRecorder();
+        String file = System.getProperty(CAPTURE_FILE_PROPERTY);
+        if (file != null) {
+            recorder.startCapture(Path.of(file), Integer.getInteger(CAPTURE_FRAMES_PROPERTY, DEFAULT_CAPTURE_FRAMES));
+        }
+        return recorder;
+    }
+
+    private void startCapture(Path file, int frames) {
+        try {
+            writer = new GlCaptureWriter(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        captureFile = file;
+        capturedFrames = 0;
+        framesRemaining = frames;
+    }
+
+    public boolean isCapturing() {
+        return writer != null;
+    }
+
+    public void endFrame() {
+        if (writer == null) {
+            return;
+        }
+        writer.command(GlCommand.END_FRAME);
+        capturedFrames++;
+        if (--framesRemaining == 0) {
+            stopCapture();
+        }
+    }
+
+    public void stopCapture() {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        writer = null;
+        System.out.printf("Captured %d frames to %s%n", capturedFrames, captureFile);
+    }
+
+    public void glClearColor(float red, float green, float blue, float alpha) {
+        GL11.glClearColor(red, green, blue, alpha);
+        if (writer != null) {
+            writer.command(GlCommand.CLEAR_COLOR).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha);
+        }
+    }
+
+    public void glClear(int mask) {
+        GL11.glClear(mask);
+        if (writer != null) {
+            writer.command(GlCommand.CLEAR).putInt(mask);
+        }
+    }
+
+    public void glViewport(int x, int y, int width, int height) {
+        GL11.glViewport(x, y, width, height);
+        if (writer != null) {
+            writer.command(GlCommand.VIEWPORT).putInt(x).putInt(y).putInt(width).putInt(height);
+        }
+    }
+
+    public void glEnable(int capability) {
+        GL11.glEnable(capability);
+        if (writer != null) {
+            writer.command(GlCommand.ENABLE).putInt(capability);
+        }
+    }
+
+    public int createProgram(ShaderProgram shaderProgram) {
+        int program = shaderProgram.create();
+        if (writer != null) {
+            writer.command(GlCommand.CREATE_PROGRAM)
+                    .putInt(program)
+                    .putString(shaderProgram.getVertexShaderSource())
+                    .putString(shaderProgram.getFragmentShaderSource());
+        }
+        return program;
+    }
+
+    public void glUseProgram(int program) {
+        GL20.glUseProgram(program);
+        if (writer != null) {
+            writer.command(GlCommand.USE_PROGRAM).putInt(program);
+        }
+    }
+
+    public void glDeleteProgram(int program) {
+        GL20.glDeleteProgram(program);
+        if (writer != null) {
+            writer.command(GlCommand.DELETE_PROGRAM).putInt(program);
+        }
+    }
+
+    public int glGetUniformLocation(int program, String name) {
+        int location = GL20.glGetUniformLocation(program, name);
+        if (writer != null) {
+            writer.command(GlCommand.GET_UNIFORM_LOCATION).putInt(program).putString(name).putInt(location);
+        }
+        return location;
+    }
+
+    public void glUniformMatrix4fv(int location, boolean transpose, FloatBuffer value) {
+        GL20.glUniformMatrix4fv(location, transpose, value);
+        if (writer != null) {
+            writer.command(GlCommand.UNIFORM_MATRIX_4FV).putInt(location).putBoolean(transpose);
+            for (int i = 0; i < 16; i++) {
+                writer.putFloat(value.get(value.position() + i));
+            }
+        }
+    }
+
+    public void glUniform3f(int location, float x, float y, float z) {
+        GL20.glUniform3f(location, x, y, z);
+        if (writer != null) {
+            writer.command(GlCommand.UNIFORM_3F).putInt(location).putFloat(x).putFloat(y).putFloat(z);
+        }
+    }
+
+    public int glGenBuffers() {
+        int buffer = GL15.glGenBuffers();
+        if (writer != null) {
+            writer.command(GlCommand.GEN_BUFFER).putInt(buffer);
+        }
+        return buffer;
+    }
+
+    public void glDeleteBuffers(int buffer) {
+        GL15.glDeleteBuffers(buffer);
+        if (writer != null) {
+            writer.command(GlCommand.DELETE_BUFFER).putInt(buffer);
+        }
+    }
+
+    public int glGenVertexArrays() {
+        int vertexArray = GL30.glGenVertexArrays();
+        if (writer != null) {
+            writer.command(GlCommand.GEN_VERTEX_ARRAY).putInt(vertexArray);
+        }
+        return vertexArray;
+    }
+
+    public void glDeleteVertexArrays(int vertexArray) {
+        GL30.glDeleteVertexArrays(vertexArray);
+        if (writer != null) {
+            writer.command(GlCommand.DELETE_VERTEX_ARRAY).putInt(vertexArray);
+        }
+    }
+
+    public void glBindVertexArray(int vertexArray) {
+        GL30.glBindVertexArray(vertexArray);
+        if (writer != null) {
+            writer.command(GlCommand.BIND_VERTEX_ARRAY).putInt(vertexArray);
+        }
+    }
+
+    public void glBindBuffer(int target, int buffer) {
+        GL15.glBindBuffer(target, buffer);
+        if (writer != null) {
+            writer.command(GlCommand.BIND_BUFFER).putInt(target).putInt(buffer);
+        }
+    }
+
+    public void glBufferData(int target, FloatBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+        recordBufferData(target, data, (long) data.remaining() * Float.BYTES, usage);
+    }
+
+    public void glBufferData(int target, IntBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+        recordBufferData(target, data, (long) data.remaining() * Integer.BYTES, usage);
+    }
+
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
+        GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
+        if (writer != null) {
+            writer.command(GlCommand.VERTEX_ATTRIB_POINTER)
+                    .putInt(index)
+                    .putInt(size)
+                    .putInt(type)
+                    .putBoolean(normalized)
+                    .putInt(stride)
+                    .putLong(pointer);
+        }
+    }
+
+    public void glEnableVertexAttribArray(int index) {
+        GL20.glEnableVertexAttribArray(index);
+        if (writer != null) {
+            writer.command(GlCommand.ENABLE_VERTEX_ATTRIB_ARRAY).putInt(index);
+        }
+    }
+
+    public void glDrawElements(int mode, int count, int type, long indices) {
+        GL11.glDrawElements(mode, count, type, indices);
+        if (writer != null) {
+            writer.command(GlCommand.DRAW_ELEMENTS).putInt(mode).putInt(count).putInt(type).putLong(indices);
+        }
+    }
+
+    private void recordBufferData(int target, Buffer data, long bytes, int usage) {
+        if (writer != null) {
+            writer.command(GlCommand.BUFFER_DATA)
+                    .putInt(target)
+                    .putInt(usage)
+                    .putBytes(memByteBuffer(memAddress(data), Math.toIntExact(bytes)));
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.github.oleksandrkukotin.lwjgl.capture;
+
+import com.github.oleksandrkukotin.lwjgl.core.ShaderProgram;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.opengl.GL;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+// Usage: GlReplayer <capture file> [per-frame CSV output]
+public class GlReplayer {
+
+    private final Map<Integer, Integer> buffers = new HashMap<>();
+    private final Map<Integer, Integer> vertexArrays = new HashMap<>();
+    private final Map<Integer, Integer> programs = new HashMap<>();
+    private final Map<UniformKey, Integer> uniformLocations = new HashMap<>();
+    private int currentProgram;
+
+    private long window;
+    private int framebuffer;
+    private int colorRenderbuffer;
+    private int depthRenderbuffer;
+
+    public long[] replay(Path captureFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(captureFile, StandardOpenOption.READ)) {
+            MappedByteBuffer capture = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            capture.order(ByteOrder.nativeOrder());
+            if (capture.getInt() != GlCaptureWriter.MAGIC) {
+                throw new IllegalStateException(captureFile + " is not a GL capture or was recorded with another byte order");
+            }
+            int version = capture.getInt();
+            if (version != GlCaptureWriter.VERSION) {
+                throw new IllegalStateException("Unsupported capture version " + version);
+            }
+
+            try {
+                initializeGLFW();
+                return execute(capture);
+            } finally {
+                deleteFramebuffer();
+                if (window != 0) {
+                    glfwDestroyWindow(window);
+                }
+                glfwTerminate();
+                glfwSetErrorCallback(null).free();
+            }
+        }
+    }
+
+    private void initializeGLFW() {
+        GLFWErrorCallback.createPrint(System.err).set();
+        if (!glfwInit()) {
+            throw new IllegalStateException("Unable to initialize GLFW");
+        }
+
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, 3);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, 3);
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+
+        window = glfwCreateWindow(1920 / 2, 1080 / 2, "GL Replay", 0, 0);
+        if (window == 0) {
+            throw new IllegalStateException("Unable to create window");
+        }
+        glfwMakeContextCurrent(window);
+        glfwSwapInterval(0);
+        GL.createCapabilities();
+    }
+
+    private long[] execute(ByteBuffer capture) {
+        long[] frameNanos = new long[64];
+        int frames = 0;
+        long frameStart = System.nanoTime();
+
+        while (capture.hasRemaining()) {
+            GlCommand command = GlCommand.fromId(capture.get());
+            switch (command) {
+                case CLEAR_COLOR -> glClearColor(capture.getFloat(), capture.getFloat(), capture.getFloat(),
+                        capture.getFloat());
+                case CLEAR -> glClear(capture.getInt());
+                case VIEWPORT -> {
+                    int x = capture.getInt();
+                    int y = capture.getInt();
+                    int width = capture.getInt();
+                    int height = capture.getInt();
+                    if (framebuffer == 0) {
+                        createFramebuffer(x + width, y + height);
+                    }
+                    glViewport(x, y, width, height);
+                }
+                case ENABLE -> glEnable(capture.getInt());
+                case CREATE_PROGRAM -> {
+                    int recorded = capture.getInt();
+                    String vertexShaderSource = getString(capture);
+                    String fragmentShaderSource = getString(capture);
+                    programs.put(recorded, new ShaderProgram(vertexShaderSource, fragmentShaderSource).create());
+                }
+                case USE_PROGRAM -> {
+                    currentProgram = capture.getInt();
+                    glUseProgram(resolve(programs, currentProgram));
+                }
+                case DELETE_PROGRAM -> {
+                    Integer program = programs.remove(capture.getInt());
+                    if (program != null) {
+                        glDeleteProgram(program);
+                    }
+                }
+                case GET_UNIFORM_LOCATION -> {
+                    int recordedProgram = capture.getInt();
+                    String name = getString(capture);
+                    int recordedLocation = capture.getInt();
+                    int location = glGetUniformLocation(resolve(programs, recordedProgram), name);
+                    uniformLocations.put(new UniformKey(recordedProgram, recordedLocation), location);
+                }
+                case UNIFORM_MATRIX_4FV -> {
+                    int location = uniformLocation(capture.getInt());
+                    boolean transpose = capture.get() != 0;
+                    // Read the matrix straight out of the mapped capture instead of copying it per command
+                    nglUniformMatrix4fv(location, 1, transpose, memAddress(capture));
+                    capture.position(capture.position() + 16 * Float.BYTES);
+                }
+                case UNIFORM_3F -> glUniform3f(uniformLocation(capture.getInt()), capture.getFloat(),
+                        capture.getFloat(), capture.getFloat());
+                case GEN_BUFFER -> buffers.put(capture.getInt(), glGenBuffers());
+                case DELETE_BUFFER -> {
+                    Integer buffer = buffers.remove(capture.getInt());
+                    if (buffer != null) {
+                        glDeleteBuffers(buffer);
+                    }
+                }
+                case GEN_VERTEX_ARRAY -> vertexArrays.put(capture.getInt(), glGenVertexArrays());
+                case DELETE_VERTEX_ARRAY -> {
+                    Integer vertexArray = vertexArrays.remove(capture.getInt());
+                    if (vertexArray != null) {
+                        glDeleteVertexArrays(vertexArray);
+                    }
+                }
+                case BIND_VERTEX_ARRAY -> glBindVertexArray(resolve(vertexArrays, capture.getInt()));
+                case BIND_BUFFER -> {
+                    int target = capture.getInt();
+                    glBindBuffer(target, resolve(buffers, capture.getInt()));
+                }
+                case BUFFER_DATA -> {
+                    int target = capture.getInt();
+                    int usage = capture.getInt();
+                    int size = capture.getInt();
+                    nglBufferData(target, size, memAddress(capture), usage);
+                    capture.position(capture.position() + size);
+                }
+                case VERTEX_ATTRIB_POINTER -> {
+                    int index = capture.getInt();
+                    int size = capture.getInt();
+                    int type = capture.getInt();
+                    boolean normalized = capture.get() != 0;
+                    glVertexAttribPointer(index, size, type, normalized, capture.getInt(), capture.getLong());
+                }
+                case ENABLE_VERTEX_ATTRIB_ARRAY -> glEnableVertexAttribArray(capture.getInt());
+                case DRAW_ELEMENTS -> glDrawElements(capture.getInt(), capture.getInt(), capture.getInt(),
+                        capture.getLong());
+                case END_FRAME -> {
+                    glFinish();
+                    long now = System.nanoTime();
+                    if (frames == frameNanos.length) {
+                        frameNanos = Arrays.copyOf(frameNanos, frames * 2);
+                    }
+                    frameNanos[frames++] = now - frameStart;
+                    frameStart = now;
+                }
+            }
+        }
+        return Arrays.copyOf(frameNanos, frames);
+    }
+
+    // The hidden window's framebuffer has an arbitrary size, so replay renders offscreen at the captured size
+    // to keep the fill cost of the recorded frames
+    private void createFramebuffer(int width, int height) {
+        colorRenderbuffer = glGenRenderbuffers();
+        glBindRenderbuffer(GL_RENDERBUFFER, colorRenderbuffer);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_RGBA8, width, height);
+        depthRenderbuffer = glGenRenderbuffers();
+        glBindRenderbuffer(GL_RENDERBUFFER, depthRenderbuffer);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_DEPTH24_STENCIL8, width, height);
+
+        framebuffer = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_RENDERBUFFER, colorRenderbuffer);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_DEPTH_STENCIL_ATTACHMENT, GL_RENDERBUFFER, depthRenderbuffer);
+        if (glCheckFramebufferStatus(GL_FRAMEBUFFER) != GL_FRAMEBUFFER_COMPLETE) {
+            throw new IllegalStateException("Unable to create a " + width + "x" + height + " replay framebuffer");
+        }
+    }
+
+    private void deleteFramebuffer() {
+        if (framebuffer != 0) {
+            glBindFramebuffer(GL_FRAMEBUFFER, 0);
+            glDeleteFramebuffers(framebuffer);
+            glDeleteRenderbuffers(colorRenderbuffer);
+            glDeleteRenderbuffers(depthRenderbuffer);
+            framebuffer = 0;
+        }
+    }
+
+    private int uniformLocation(int recordedLocation) {
+        return uniformLocations.getOrDefault(new UniformKey(currentProgram, recordedLocation), recordedLocation);
+    }
+
+    // Captures start before any object exists, so every non-zero name must have been created in the stream
+    private static int resolve(Map<Integer, Integer> names, int recorded) {
+        if (recorded == 0) {
+            return 0;
+        }
+        Integer name = names.get(recorded);
+        if (name == null) {
+            throw new IllegalStateException("Capture uses GL object " + recorded + " that it never created");
+        }
+        return name;
+    }
+
+    private static String getString(ByteBuffer capture) {
+        byte[] bytes = new byte[capture.getInt()];
+        capture.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void report(long[] frameNanos, Path csvOutput) throws IOException {
+        if (frameNanos.length == 0) {
+            System.out.println("Capture contains no complete frames");
+            return;
+        }
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        long total = Arrays.stream(frameNanos).sum();
+        System.out.printf("Replayed %d frames in %.2f ms%n", frameNanos.length, total / 1_000_000.0);
+        System.out.printf("Frame time ms: min %.3f, avg %.3f, p50 %.3f, p95 %.3f, max %.3f%n",
+                sorted[0] / 1_000_000.0,
+                total / 1_000_000.0 / frameNanos.length,
+                sorted[sorted.length / 2] / 1_000_000.0,
+                sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.95))] / 1_000_000.0,
+                sorted[sorted.length - 1] / 1_000_000.0);
+
+        if (csvOutput != null) {
+            try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(csvOutput))) {
+                csv.println("frame,ms");
+                for (int frame = 0; frame < frameNanos.length; frame++) {
+                    csv.printf("%d,%.3f%n", frame, frameNanos[frame] / 1_000_000.0);
+                }
+            }
+        }
+    }
+
+    private record UniformKey(int program, int location) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GlReplayer <capture file> [per-frame CSV output]");
+            System.exit(1);
+        }
+        long[] frameNanos = new GlReplayer().replay(Path.of(args[0]));
+        report(frameNanos, args.length > 1 ? Path.of(args[1]) : null);
+    }
+}
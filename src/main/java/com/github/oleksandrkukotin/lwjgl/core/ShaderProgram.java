@@ -9,34 +9,50 @@ public class ShaderProgram {
 
     private static final String VERTEX_SHADER_SOURCE = """
             #version 330 core
-            layout(location = 0) in vec2 position;
+            layout(location = 0) in vec3 position;
             
             uniform mat4 model;
             uniform mat4 view;
             uniform mat4 projection;
             
+            out float height;
+            
             void main() {
-                gl_Position = projection * view * model * vec4(position, 0.0, 1.0);
+                height = position.y;
+                gl_Position = projection * view * model * vec4(position, 1.0);
             }
             """;
 
     private static final String FRAGMENT_SHADER_SOURCE = """
             #version 330 core
+            in float height;
             out vec4 FragColor;
             uniform vec3 color;
             void main() {
-                FragColor = vec4(color, 1.0);
+                FragColor = vec4(color * clamp(1.0 + height * 0.06, 0.2, 1.0), 1.0);
             }
             """;
 
+    private final String vertexShaderSource;
+    private final String fragmentShaderSource;
+
+    public ShaderProgram() {
+        this(VERTEX_SHADER_SOURCE, FRAGMENT_SHADER_SOURCE);
+    }
+
+    public ShaderProgram(String vertexShaderSource, String fragmentShaderSource) {
+        this.vertexShaderSource = vertexShaderSource;
+        this.fragmentShaderSource = fragmentShaderSource;
+    }
+
     public int create() {
         int vertexShader = glCreateShader(GL_VERTEX_SHADER);
-        glShaderSource(vertexShader, VERTEX_SHADER_SOURCE);
+        glShaderSource(vertexShader, vertexShaderSource);
         glCompileShader(vertexShader);
         checkShaderCompileStatus(vertexShader);
 
         int fragmentShader = glCreateShader(GL_FRAGMENT_SHADER);
-        glShaderSource(fragmentShader, FRAGMENT_SHADER_SOURCE);
+        glShaderSource(fragmentShader, fragmentShaderSource);
         glCompileShader(fragmentShader);
         checkShaderCompileStatus(fragmentShader);
 
@@ -55,6 +71,14 @@ public class ShaderProgram {
         return program;
     }
 
+    public String getVertexShaderSource() {
+        return vertexShaderSource;
+    }
+
+    public String getFragmentShaderSource() {
+        return fragmentShaderSource;
+    }
+
     private void checkShaderCompileStatus(int vertexShader) {
         if (glGetShaderi(vertexShader, GL_COMPILE_STATUS) == GL_FALSE) {
             throw new ShaderCompileException("Error during shader compilation occurred: " + glGetShaderInfoLog(vertexShader));
@@ -1,7 +1,12 @@
 package com.github.oleksandrkukotin.lwjgl.core;
 
+import com.github.oleksandrkukotin.lwjgl.capture.GlRecorder;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+import com.github.oleksandrkukotin.lwjgl.terrain.HeightmapGenerator;
+import com.github.oleksandrkukotin.lwjgl.terrain.TerrainSettings;
+import com.github.oleksandrkukotin.lwjgl.terrain.TerrainStreamer;
 import glm_.mat4x4.Mat4;
-import glm_.vec3.Vec3;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWFramebufferSizeCallback;
@@ -20,16 +25,6 @@ import static glm_.Java.glm;
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.glfw.GLFW.glfwSetErrorCallback;
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
-import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
-import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
-import static org.lwjgl.opengl.GL15.glBindBuffer;
-import static org.lwjgl.opengl.GL15.glBufferData;
-import static org.lwjgl.opengl.GL15.glGenBuffers;
-import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
-import static org.lwjgl.opengl.GL30.glGenVertexArrays;
 import static org.lwjgl.system.MemoryUtil.memAddress;
 
 public class SimpleCameraController {
@@ -40,6 +35,8 @@ public class SimpleCameraController {
 
     private final ShaderProgram shaderProgram = new ShaderProgram();
     private final Camera camera = new Camera();
+    private final GlRecorder gl = GlRecorder.fromSystemProperties();
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry(gl);
 
     private boolean isFirstMouseInput = true;
     private double previousMouseX = 0.0f;
@@ -47,6 +44,9 @@ public class SimpleCameraController {
     private float yaw = -89.0f;
     private float pitch = 0.0f;
     private static final float SENSITIVITY = 0.01f;
+    private static final long TERRAIN_SEED = 1337L;
+    private static final long BUFFER_BUDGET_BYTES = 16L * 1024 * 1024;
+    private static final long NATIVE_MEMORY_BUDGET_BYTES = 32L * 1024 * 1024;
 
     private GLFWKeyCallback keyCallback;
     private GLFWFramebufferSizeCallback framebufferSizeCallback;
@@ -178,76 +178,59 @@ public class SimpleCameraController {
         GL.createCapabilities();
         debugProc = GLUtil.setupDebugMessageCallback();
 
-        glClearColor(0.2f, 0.1f, 0.5f, 0.0f);
+        gl.glClearColor(0.2f, 0.1f, 0.5f, 0.0f);
 
-        int shaderProgramInt = shaderProgram.create();
+        resourceRegistry.setBudget(ResourceType.BUFFER, BUFFER_BUDGET_BYTES);
+        resourceRegistry.setBudget(ResourceType.NATIVE_MEMORY, NATIVE_MEMORY_BUDGET_BYTES);
+        int shaderProgramInt = resourceRegistry.registerProgram(gl.createProgram(shaderProgram), "camera shader");
 
-        int floorVao = glGenVertexArrays();
-        int floorVbo = glGenBuffers();
-        int floorEbo = glGenBuffers();
-        float[] floorVertices = {
-                -5.0f, -0.5f, 5.0f,  // 0
-                5.0f, -0.5f, 5.0f,  // 1
-                5.0f, -0.5f, -5.0f,  // 2
-                -5.0f, -0.5f, -5.0f   // 3
-        };
-        int[] floorIndices = {0, 1, 3, 3, 1, 2};
+        TerrainStreamer terrain = new TerrainStreamer(TerrainSettings.defaults(),
+                new HeightmapGenerator(TERRAIN_SEED, -8.0f, 6.0f), resourceRegistry, gl);
 
-        bindBuffersForTriangles(floorVbo, floorVbo, floorEbo, floorVertices, floorIndices);
-        glUseProgram(shaderProgramInt);
-        glEnable(GL_DEPTH_TEST);
+        gl.glUseProgram(shaderProgramInt);
+        gl.glEnable(GL_DEPTH_TEST);
 
         float color = 0.0f;
         while (!glfwWindowShouldClose(window)) {
-            glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+            gl.glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+
+            gl.glViewport(0, 0, width, height);
 
-            glViewport(0, 0, width, height);
+            terrain.update(camera.getPosition());
 
             Mat4 model = new Mat4(1.0f);
-            model.rotate(color, new Vec3(0.0f, 0.0f, color));
-            model.scale(new Vec3(1.0f, 1.0f, 1.0f));
 
             Mat4 view = glm.lookAt(camera.getPosition(), camera.getPosition().plus(camera.getFront()), camera.getUp());
-            int viewLocation = glGetUniformLocation(shaderProgramInt, "view");
-            glUniformMatrix4fv(viewLocation, false, view.to(BufferUtils.createFloatBuffer(16)));
+            int viewLocation = gl.glGetUniformLocation(shaderProgramInt, "view");
+            gl.glUniformMatrix4fv(viewLocation, false, view.to(BufferUtils.createFloatBuffer(16)));
 
             Mat4 projection = glm.perspective(
                     (float) Math.toRadians(45.0f),
                     (float) width / height,
                     0.1f,
-                    100.0f
+                    250.0f
             );
-            int projectionLocation = glGetUniformLocation(shaderProgramInt, "projection");
-            glUniformMatrix4fv(projectionLocation, false, projection.to(BufferUtils.createFloatBuffer(16)));
+            int projectionLocation = gl.glGetUniformLocation(shaderProgramInt, "projection");
+            gl.glUniformMatrix4fv(projectionLocation, false, projection.to(BufferUtils.createFloatBuffer(16)));
 
             FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
             model.to(matrixBuffer);
-            int modelLocation = glGetUniformLocation(shaderProgramInt, "model");
-            glUniformMatrix4fv(modelLocation, false, matrixBuffer);
+            int modelLocation = gl.glGetUniformLocation(shaderProgramInt, "model");
+            gl.glUniformMatrix4fv(modelLocation, false, matrixBuffer);
 
-            int colorLocation = glGetUniformLocation(shaderProgramInt, "color");
-            glUniform3f(colorLocation, 0.5f, Math.abs((float) Math.sin(color)), Math.abs((float) Math.cos(color)));
+            int colorLocation = gl.glGetUniformLocation(shaderProgramInt, "color");
+            gl.glUniform3f(colorLocation, 0.5f, Math.abs((float) Math.sin(color)), Math.abs((float) Math.cos(color)));
 
-            glBindVertexArray(floorVao);
-//            glDrawElements(GL_TRIANGLES, trianglesIndices.length, GL_UNSIGNED_INT, 0L);
-            glDrawElements(GL_TRIANGLES, floorIndices.length, GL_UNSIGNED_INT, 0L);
+            terrain.render();
             glfwSwapBuffers(window);
+            gl.endFrame();
             glfwPollEvents();
             color += 0.05f;
         }
-    }
-
-    private void bindBuffersForTriangles(int vao, int vbo, int ebo, float[] vertices, int[] indices) {
-        glBindVertexArray(vao);
-
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferData(GL_ARRAY_BUFFER, BufferUtils.createFloatBuffer(vertices.length).put(vertices).flip(), GL_STATIC_DRAW);
-
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0L);
-        glEnableVertexAttribArray(0);
-
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, BufferUtils.createIntBuffer(indices.length).put(indices).flip(), GL_STATIC_DRAW);
+        terrain.shutdown();
+        resourceRegistry.deleteProgram(shaderProgramInt);
+        gl.stopCapture();
+        resourceRegistry.reportLeaks();
     }
 
     public static void main(String[] args) {
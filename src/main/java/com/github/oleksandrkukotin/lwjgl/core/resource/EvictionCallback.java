@@ -0,0 +1,11 @@
+package com.github.oleksandrkukotin.lwjgl.core.resource;
+
+@FunctionalInterface
+public interface EvictionCallback {
+
+    /**
+     * Called on the allocating thread when usage of {@code type} goes over its budget.
+     * Returns {@code true} if anything was released, so the registry knows whether asking again can help.
+     */
+    boolean evict(ResourceType type, long bytesOverBudget);
+}
@@ -0,0 +1,255 @@
+package com.github.oleksandrkukotin.lwjgl.core.resource;
+
+import com.github.oleksandrkukotin.lwjgl.capture.GlRecorder;
+import org.lwjgl.opengl.GL11;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.lwjgl.system.MemoryUtil.memAddress0;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memAllocInt;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+// GL objects are created and deleted on the render thread, native memory may come from worker threads
+public class GpuResourceRegistry {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final GlRecorder gl;
+    private final Map<ResourceKey, TrackedResource> resources = new HashMap<>();
+    private final Map<ResourceType, Long> usedBytes = new EnumMap<>(ResourceType.class);
+    private final Map<ResourceType, Long> budgets = new EnumMap<>(ResourceType.class);
+    private final Set<ResourceType> overBudget = EnumSet.noneOf(ResourceType.class);
+    private final Map<ResourceType, List<EvictionCallback>> evictionCallbacks = new EnumMap<>(ResourceType.class);
+
+    public GpuResourceRegistry() {
+        this(GlRecorder.passThrough());
+    }
+
+    public GpuResourceRegistry(GlRecorder gl) {
+        this.gl = gl;
+        for (ResourceType type : ResourceType.values()) {
+            usedBytes.put(type, 0L);
+            evictionCallbacks.put(type, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    public int createBuffer(String label) {
+        int buffer = gl.glGenBuffers();
+        register(ResourceType.BUFFER, buffer, label);
+        return buffer;
+    }
+
+    public int createVertexArray(String label) {
+        int vertexArray = gl.glGenVertexArrays();
+        register(ResourceType.VERTEX_ARRAY, vertexArray, label);
+        return vertexArray;
+    }
+
+    // Textures are not part of the capture format, so they bypass the recorder
+    public int createTexture(String label) {
+        int texture = GL11.glGenTextures();
+        register(ResourceType.TEXTURE, texture, label);
+        return texture;
+    }
+
+    public int registerProgram(int program, String label) {
+        register(ResourceType.PROGRAM, program, label);
+        return program;
+    }
+
+    public ByteBuffer allocateBytes(int count, String label) {
+        ByteBuffer buffer = memAlloc(count);
+        registerNative(buffer, count, label);
+        return buffer;
+    }
+
+    public FloatBuffer allocateFloats(int count, String label) {
+        FloatBuffer buffer = memAllocFloat(count);
+        registerNative(buffer, (long) count * Float.BYTES, label);
+        return buffer;
+    }
+
+    public IntBuffer allocateInts(int count, String label) {
+        IntBuffer buffer = memAllocInt(count);
+        registerNative(buffer, (long) count * Integer.BYTES, label);
+        return buffer;
+    }
+
+    public void register(ResourceType type, long handle, String label) {
+        track(new TrackedResource(type, handle, 0L, label, creationSite()));
+    }
+
+    public void updateSize(ResourceType type, long handle, long bytes) {
+        long growth;
+        synchronized (this) {
+            ResourceKey key = new ResourceKey(type, handle);
+            TrackedResource resource = resources.get(key);
+            if (resource == null) {
+                throw new IllegalStateException("Untracked " + type + " " + handle);
+            }
+            resources.put(key, resource.withBytes(bytes));
+            growth = bytes - resource.bytes();
+            usedBytes.merge(type, growth, Long::sum);
+        }
+        if (growth > 0) {
+            enforceBudget(type);
+        }
+    }
+
+    public void deleteBuffer(int buffer) {
+        untrack(ResourceType.BUFFER, buffer);
+        gl.glDeleteBuffers(buffer);
+    }
+
+    public void deleteVertexArray(int vertexArray) {
+        untrack(ResourceType.VERTEX_ARRAY, vertexArray);
+        gl.glDeleteVertexArrays(vertexArray);
+    }
+
+    public void deleteTexture(int texture) {
+        untrack(ResourceType.TEXTURE, texture);
+        GL11.glDeleteTextures(texture);
+    }
+
+    public void deleteProgram(int program) {
+        untrack(ResourceType.PROGRAM, program);
+        gl.glDeleteProgram(program);
+    }
+
+    public void free(Buffer buffer) {
+        untrack(ResourceType.NATIVE_MEMORY, memAddress0(buffer));
+        memFree(buffer);
+    }
+
+    public synchronized void setBudget(ResourceType type, long bytes) {
+        budgets.put(type, bytes);
+    }
+
+    public void addEvictionCallback(ResourceType type, EvictionCallback callback) {
+        evictionCallbacks.get(type).add(callback);
+    }
+
+    public void removeEvictionCallback(ResourceType type, EvictionCallback callback) {
+        evictionCallbacks.get(type).remove(callback);
+    }
+
+    public synchronized long getUsedBytes(ResourceType type) {
+        return usedBytes.get(type);
+    }
+
+    public synchronized int getResourceCount() {
+        return resources.size();
+    }
+
+    public synchronized String describeUsage() {
+        StringBuilder usage = new StringBuilder();
+        for (ResourceType type : ResourceType.values()) {
+            if (!usage.isEmpty()) {
+                usage.append(", ");
+            }
+            usage.append(type).append(' ').append(usedBytes.get(type) / 1024).append(" KiB");
+            Long budget = budgets.get(type);
+            if (budget != null) {
+                usage.append(" / ").append(budget / 1024).append(" KiB");
+            }
+        }
+        return usage.toString();
+    }
+
+    public List<TrackedResource> reportLeaks() {
+        List<TrackedResource> leaks;
+        synchronized (this) {
+            leaks = new ArrayList<>(resources.values());
+        }
+        for (TrackedResource leak : leaks) {
+            System.err.printf("Leaked %s %d (%d bytes) '%s' created at %s%n",
+                    leak.type(), leak.handle(), leak.bytes(), leak.label(), leak.creationSite());
+        }
+        return leaks;
+    }
+
+    private void registerNative(Buffer buffer, long bytes, String label) {
+        track(new TrackedResource(ResourceType.NATIVE_MEMORY, memAddress0(buffer), bytes, label, creationSite()));
+    }
+
+    private void track(TrackedResource resource) {
+        synchronized (this) {
+            TrackedResource previous = resources.putIfAbsent(new ResourceKey(resource.type(), resource.handle()),
+                    resource);
+            if (previous != null) {
+                throw new IllegalStateException(resource.type() + " " + resource.handle() + " is already tracked as '"
+                        + previous.label() + "'");
+            }
+            usedBytes.merge(resource.type(), resource.bytes(), Long::sum);
+        }
+        if (resource.bytes() > 0) {
+            enforceBudget(resource.type());
+        }
+    }
+
+    private synchronized void untrack(ResourceType type, long handle) {
+        TrackedResource resource = resources.remove(new ResourceKey(type, handle));
+        if (resource == null) {
+            throw new IllegalStateException("Untracked " + type + " " + handle);
+        }
+        usedBytes.merge(type, -resource.bytes(), Long::sum);
+    }
+
+    // Callbacks run outside the lock because they usually delete resources through this registry
+    private void enforceBudget(ResourceType type) {
+        Long budget;
+        synchronized (this) {
+            budget = budgets.get(type);
+        }
+        if (budget == null) {
+            return;
+        }
+
+        boolean released = true;
+        while (released && getUsedBytes(type) > budget) {
+            released = false;
+            for (EvictionCallback callback : evictionCallbacks.get(type)) {
+                long bytesOverBudget = getUsedBytes(type) - budget;
+                if (bytesOverBudget <= 0) {
+                    break;
+                }
+                released |= callback.evict(type, bytesOverBudget);
+            }
+        }
+
+        long used = getUsedBytes(type);
+        synchronized (this) {
+            if (used <= budget) {
+                overBudget.remove(type);
+            } else if (overBudget.add(type)) {
+                System.err.printf("%s usage of %d bytes exceeds budget of %d bytes and nothing is left to evict%n",
+                        type, used, budget);
+            }
+        }
+    }
+
+    private static String creationSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(GpuResourceRegistry.class.getName()))
+                .findFirst()
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("unknown"));
+    }
+
+    private record ResourceKey(ResourceType type, long handle) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.oleksandrkukotin.lwjgl.core.resource;
+
+public enum ResourceType {
+    BUFFER,
+    VERTEX_ARRAY,
+    PROGRAM,
+    TEXTURE,
+    NATIVE_MEMORY
+}
@@ -0,0 +1,8 @@
+package com.github.oleksandrkukotin.lwjgl.core.resource;
+
+public record TrackedResource(ResourceType type, long handle, long bytes, String label, String creationSite) {
+
+    TrackedResource withBytes(long newBytes) {
+        return new TrackedResource(type, handle, newBytes, label, creationSite);
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import java.nio.ByteBuffer;
+
+// Stable handle to an atlas image; its region is replaced whenever the atlas is defragmented
+public class AtlasEntry {
+
+    private final String name;
+    private final int width;
+    private final int height;
+    final ByteBuffer pixels;
+    private AtlasRegion region;
+
+    AtlasEntry(String name, int width, int height, ByteBuffer pixels) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public AtlasRegion getRegion() {
+        return region;
+    }
+
+    void setRegion(AtlasRegion region) {
+        this.region = region;
+    }
+}
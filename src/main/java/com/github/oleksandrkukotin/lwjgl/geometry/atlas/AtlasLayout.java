@@ -0,0 +1,108 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Where images sit in the atlas layers, kept apart from the texture so packing needs no GL context
+class AtlasLayout {
+
+    // Gutter between packed images so neighbouring texels never get sampled
+    static final int PADDING = 1;
+
+    private final int layerSize;
+    private final int maxLayers;
+    private final List<SkylinePacker> layers = new ArrayList<>();
+    private long liveArea;
+    private long livePackedArea;
+
+    AtlasLayout(int layerSize, int maxLayers) {
+        this.layerSize = layerSize;
+        this.maxLayers = maxLayers;
+        layers.add(new SkylinePacker(layerSize, layerSize));
+    }
+
+    boolean fits(int width, int height) {
+        return width > 0 && height > 0 && width + 2 * PADDING <= layerSize && height + 2 * PADDING <= layerSize;
+    }
+
+    // Returns null when no layer has room and no more layers can be opened
+    AtlasRegion allocate(int width, int height) {
+        AtlasRegion region = allocate(layers, width, height);
+        if (region != null) {
+            liveArea += (long) width * height;
+            livePackedArea += paddedArea(width, height);
+        }
+        return region;
+    }
+
+    // The space stays packed until the next repack reclaims it
+    void release(AtlasRegion region) {
+        liveArea -= (long) region.width() * region.height();
+        livePackedArea -= paddedArea(region.width(), region.height());
+    }
+
+    // Packs the entries in the given order into fresh layers. Returns their new regions in the same order,
+    // or null with the current layout left untouched if they do not all fit.
+    AtlasRegion[] repack(List<AtlasEntry> entries) {
+        List<SkylinePacker> repacked = new ArrayList<>();
+        repacked.add(new SkylinePacker(layerSize, layerSize));
+        AtlasRegion[] regions = new AtlasRegion[entries.size()];
+        for (int i = 0; i < regions.length; i++) {
+            AtlasEntry entry = entries.get(i);
+            regions[i] = allocate(repacked, entry.getWidth(), entry.getHeight());
+            if (regions[i] == null) {
+                return null;
+            }
+        }
+        layers.clear();
+        layers.addAll(repacked);
+        return regions;
+    }
+
+    // Live image area over the area of the layers in use
+    float getOccupancy() {
+        return (float) liveArea / ((long) layerSize * layerSize * layers.size());
+    }
+
+    // Share of the packed area, gutters included, still held by images that have since been removed
+    float getFragmentation() {
+        long packedArea = 0;
+        for (SkylinePacker layer : layers) {
+            packedArea += layer.getPackedArea();
+        }
+        return packedArea == 0 ? 0.0f : 1.0f - (float) livePackedArea / packedArea;
+    }
+
+    int getLayerCount() {
+        return layers.size();
+    }
+
+    private AtlasRegion allocate(List<SkylinePacker> packers, int width, int height) {
+        for (int layer = 0; layer < packers.size(); layer++) {
+            AtlasRegion region = allocateInLayer(packers, layer, width, height);
+            if (region != null) {
+                return region;
+            }
+        }
+        if (packers.size() < maxLayers) {
+            packers.add(new SkylinePacker(layerSize, layerSize));
+            return allocateInLayer(packers, packers.size() - 1, width, height);
+        }
+        return null;
+    }
+
+    private AtlasRegion allocateInLayer(List<SkylinePacker> packers, int layer, int width, int height) {
+        PackedRect rect = packers.get(layer).pack(width + 2 * PADDING, height + 2 * PADDING);
+        if (rect == null) {
+            return null;
+        }
+        int x = rect.x() + PADDING;
+        int y = rect.y() + PADDING;
+        float size = layerSize;
+        return new AtlasRegion(layer, x, y, width, height, x / size, y / size, (x + width) / size, (y + height) / size);
+    }
+
+    private static long paddedArea(int width, int height) {
+        return (long) (width + 2 * PADDING) * (height + 2 * PADDING);
+    }
+}
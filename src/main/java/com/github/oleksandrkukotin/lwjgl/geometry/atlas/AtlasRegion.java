@@ -0,0 +1,4 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+public record AtlasRegion(int layer, int x, int y, int width, int height, float u0, float v0, float u1, float v1) {
+}
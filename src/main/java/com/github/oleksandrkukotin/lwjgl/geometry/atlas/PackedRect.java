@@ -0,0 +1,4 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+public record PackedRect(int x, int y, int width, int height) {
+}
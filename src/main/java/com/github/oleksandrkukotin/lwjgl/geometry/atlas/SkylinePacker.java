@@ -0,0 +1,117 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SkylinePacker {
+
+    private final int width;
+    private final int height;
+    private final List<Segment> skyline = new ArrayList<>();
+    private long packedArea;
+
+    public SkylinePacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        reset();
+    }
+
+    public void reset() {
+        skyline.clear();
+        skyline.add(new Segment(0, 0, width));
+        packedArea = 0;
+    }
+
+    // Bottom-left heuristic: lowest resulting top edge wins, ties go to the leftmost position
+    public PackedRect pack(int rectWidth, int rectHeight) {
+        int bestIndex = -1;
+        int bestY = Integer.MAX_VALUE;
+        int bestX = Integer.MAX_VALUE;
+        for (int i = 0; i < skyline.size(); i++) {
+            int y = fit(i, rectWidth, rectHeight);
+            int x = skyline.get(i).x;
+            if (y >= 0 && (y < bestY || (y == bestY && x < bestX))) {
+                bestIndex = i;
+                bestY = y;
+                bestX = x;
+            }
+        }
+        if (bestIndex < 0) {
+            return null;
+        }
+
+        addLevel(bestIndex, bestX, bestY, rectWidth, rectHeight);
+        packedArea += (long) rectWidth * rectHeight;
+        return new PackedRect(bestX, bestY, rectWidth, rectHeight);
+    }
+
+    public float getOccupancy() {
+        return (float) packedArea / ((long) width * height);
+    }
+
+    public long getPackedArea() {
+        return packedArea;
+    }
+
+    private int fit(int index, int rectWidth, int rectHeight) {
+        int x = skyline.get(index).x;
+        if (x + rectWidth > width) {
+            return -1;
+        }
+        int y = 0;
+        int widthLeft = rectWidth;
+        for (int i = index; widthLeft > 0; i++) {
+            Segment segment = skyline.get(i);
+            y = Math.max(y, segment.y);
+            if (y + rectHeight > height) {
+                return -1;
+            }
+            widthLeft -= segment.width;
+        }
+        return y;
+    }
+
+    private void addLevel(int index, int x, int y, int rectWidth, int rectHeight) {
+        skyline.add(index, new Segment(x, y + rectHeight, rectWidth));
+
+        // Trim or drop the segments now hidden under the new one
+        for (int i = index + 1; i < skyline.size(); ) {
+            Segment previous = skyline.get(i - 1);
+            Segment segment = skyline.get(i);
+            int overlap = previous.x + previous.width - segment.x;
+            if (overlap <= 0) {
+                break;
+            }
+            segment.x += overlap;
+            segment.width -= overlap;
+            if (segment.width <= 0) {
+                skyline.remove(i);
+            } else {
+                break;
+            }
+        }
+
+        for (int i = 0; i < skyline.size() - 1; ) {
+            Segment segment = skyline.get(i);
+            Segment next = skyline.get(i + 1);
+            if (segment.y == next.y) {
+                segment.width += next.width;
+                skyline.remove(i + 1);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static class Segment {
+        private int x;
+        private final int y;
+        private int width;
+
+        private Segment(int x, int y, int width) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+
+// Sprites from any atlas layer share one draw; the layer travels with each vertex
+public class SpriteBatch {
+
+    private static final int POSITION_LOCATION = 0;
+    private static final int TEXTURE_LOCATION = 1;
+    private static final int COLOR_LOCATION = 2;
+    private static final int VERTEX_FLOATS = SpriteQueue.VERTEX_FLOATS;
+    private static final int VERTEX_BYTES = VERTEX_FLOATS * Float.BYTES;
+    private static final int VERTICES_PER_SPRITE = SpriteQueue.VERTICES_PER_SPRITE;
+    private static final int INDICES_PER_SPRITE = 6;
+
+    private final int vao;
+    private final int vbo;
+    private final int ebo;
+    private final long vertexBufferBytes;
+    private final FloatBuffer vertices;
+    private final SpriteQueue queue;
+    private final GpuResourceRegistry registry;
+
+    private TextureAtlas currentAtlas;
+    private int drawCalls;
+    private int batchBreaks;
+    private int spritesDrawn;
+
+    public SpriteBatch(int maxSprites, GpuResourceRegistry registry) {
+        this.registry = registry;
+        vertexBufferBytes = (long) maxSprites * VERTICES_PER_SPRITE * VERTEX_BYTES;
+        vertices = registry.allocateFloats(maxSprites * VERTICES_PER_SPRITE * VERTEX_FLOATS, "sprite vertices");
+        queue = new SpriteQueue(maxSprites);
+
+        vao = registry.createVertexArray("sprite batch");
+        vbo = registry.createBuffer("sprite vertices");
+        ebo = registry.createBuffer("sprite indices");
+
+        glBindVertexArray(vao);
+
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, vertexBufferBytes, GL_STREAM_DRAW);
+        registry.updateSize(ResourceType.BUFFER, vbo, vertexBufferBytes);
+        glVertexAttribPointer(POSITION_LOCATION, 2, GL_FLOAT, false, VERTEX_BYTES, 0L);
+        glEnableVertexAttribArray(POSITION_LOCATION);
+        glVertexAttribPointer(TEXTURE_LOCATION, 3, GL_FLOAT, false, VERTEX_BYTES, 2L * Float.BYTES);
+        glEnableVertexAttribArray(TEXTURE_LOCATION);
+        glVertexAttribPointer(COLOR_LOCATION, 4, GL_FLOAT, false, VERTEX_BYTES, 5L * Float.BYTES);
+        glEnableVertexAttribArray(COLOR_LOCATION);
+
+        IntBuffer indices = registry.allocateInts(maxSprites * INDICES_PER_SPRITE, "sprite indices");
+        for (int sprite = 0, vertex = 0; sprite < maxSprites; sprite++, vertex += VERTICES_PER_SPRITE) {
+            indices.put(vertex).put(vertex + 1).put(vertex + 2)
+                    .put(vertex + 2).put(vertex + 3).put(vertex);
+        }
+        indices.flip();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, ebo, (long) indices.remaining() * Integer.BYTES);
+        registry.free(indices);
+
+        glBindVertexArray(0);
+    }
+
+    public void draw(TextureAtlas atlas, AtlasEntry entry, float x, float y, float width, float height,
+                     float red, float green, float blue, float alpha) {
+        if (entry.getRegion() == null) {
+            throw new IllegalArgumentException("Sprite " + entry.getName() + " is no longer in the atlas");
+        }
+        if (atlas != currentAtlas) {
+            if (!queue.isEmpty()) {
+                flush();
+                batchBreaks++;
+            }
+            currentAtlas = atlas;
+        }
+        if (queue.isFull()) {
+            flush();
+            batchBreaks++;
+        }
+
+        // Regions are resolved at flush, the atlas may defragment before then
+        queue.add(entry, x, y, width, height, red, green, blue, alpha);
+    }
+
+    public void end() {
+        flush();
+        currentAtlas = null;
+    }
+
+    public void resetFrameStats() {
+        drawCalls = 0;
+        batchBreaks = 0;
+        spritesDrawn = 0;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getBatchBreaks() {
+        return batchBreaks;
+    }
+
+    public int getSpritesDrawn() {
+        return spritesDrawn;
+    }
+
+    public void delete() {
+        registry.deleteVertexArray(vao);
+        registry.deleteBuffer(vbo);
+        registry.deleteBuffer(ebo);
+        registry.free(vertices);
+    }
+
+    private void flush() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        int spriteCount = queue.writeVertices(vertices);
+        queue.clear();
+        vertices.flip();
+        if (spriteCount == 0) {
+            vertices.clear();
+            return;
+        }
+        currentAtlas.bind(0);
+        glBindVertexArray(vao);
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        // Orphan the storage so the upload never waits on the previous flush still being drawn
+        glBufferData(GL_ARRAY_BUFFER, vertexBufferBytes, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0L, vertices);
+        glDrawElements(GL_TRIANGLES, spriteCount * INDICES_PER_SPRITE, GL_UNSIGNED_INT, 0L);
+
+        drawCalls++;
+        spritesDrawn += spriteCount;
+        vertices.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+// Sprites wait here as atlas entries, so a defragmentation between draw and flush only moves where they sample from
+class SpriteQueue {
+
+    // Vertex layout: vec2 position, vec3 uv + layer, vec4 color
+    static final int VERTEX_FLOATS = 9;
+    static final int VERTICES_PER_SPRITE = 4;
+    // Sprite layout: x, y, width, height, red, green, blue, alpha
+    private static final int SPRITE_FLOATS = 8;
+
+    private final AtlasEntry[] entries;
+    private final float[] sprites;
+    private int size;
+
+    SpriteQueue(int capacity) {
+        entries = new AtlasEntry[capacity];
+        sprites = new float[capacity * SPRITE_FLOATS];
+    }
+
+    void add(AtlasEntry entry, float x, float y, float width, float height,
+             float red, float green, float blue, float alpha) {
+        if (isFull()) {
+            throw new IllegalStateException("Sprite queue is full");
+        }
+        entries[size] = entry;
+        int sprite = size * SPRITE_FLOATS;
+        sprites[sprite] = x;
+        sprites[sprite + 1] = y;
+        sprites[sprite + 2] = width;
+        sprites[sprite + 3] = height;
+        sprites[sprite + 4] = red;
+        sprites[sprite + 5] = green;
+        sprites[sprite + 6] = blue;
+        sprites[sprite + 7] = alpha;
+        size++;
+    }
+
+    // Resolves every entry's current region and returns how many sprites were written. Entries removed from the
+    // atlas since they were queued are skipped.
+    int writeVertices(FloatBuffer vertices) {
+        int written = 0;
+        for (int i = 0; i < size; i++) {
+            AtlasRegion region = entries[i].getRegion();
+            if (region == null) {
+                continue;
+            }
+            int sprite = i * SPRITE_FLOATS;
+            float x = sprites[sprite];
+            float y = sprites[sprite + 1];
+            float width = sprites[sprite + 2];
+            float height = sprites[sprite + 3];
+            float red = sprites[sprite + 4];
+            float green = sprites[sprite + 5];
+            float blue = sprites[sprite + 6];
+            float alpha = sprites[sprite + 7];
+            float layer = region.layer();
+            putVertex(vertices, x, y, region.u0(), region.v1(), layer, red, green, blue, alpha);
+            putVertex(vertices, x + width, y, region.u1(), region.v1(), layer, red, green, blue, alpha);
+            putVertex(vertices, x + width, y + height, region.u1(), region.v0(), layer, red, green, blue, alpha);
+            putVertex(vertices, x, y + height, region.u0(), region.v0(), layer, red, green, blue, alpha);
+            written++;
+        }
+        return written;
+    }
+
+    void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+    }
+
+    boolean isFull() {
+        return size == entries.length;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static void putVertex(FloatBuffer vertices, float x, float y, float u, float v, float layer,
+                                  float red, float green, float blue, float alpha) {
+        vertices.put(x).put(y).put(u).put(v).put(layer).put(red).put(green).put(blue).put(alpha);
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL12.glTexImage3D;
+import static org.lwjgl.opengl.GL12.glTexSubImage3D;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY;
+
+public class TextureAtlas {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final int layerSize;
+    private final int texture;
+    private final GpuResourceRegistry registry;
+    private final AtlasLayout layout;
+    private final Map<String, AtlasEntry> entries = new LinkedHashMap<>();
+    private int defragmentations;
+
+    public TextureAtlas(int layerSize, int maxLayers, GpuResourceRegistry registry) {
+        this.layerSize = layerSize;
+        this.registry = registry;
+        layout = new AtlasLayout(layerSize, maxLayers);
+
+        texture = registry.createTexture("texture atlas");
+        glBindTexture(GL_TEXTURE_2D_ARRAY, texture);
+        glTexImage3D(GL_TEXTURE_2D_ARRAY, 0, GL_RGBA8, layerSize, layerSize, maxLayers, 0, GL_RGBA,
+                GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        registry.updateSize(ResourceType.TEXTURE, texture, (long) layerSize * layerSize * maxLayers * BYTES_PER_PIXEL);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+    }
+
+    public AtlasEntry add(String name, int width, int height, ByteBuffer rgba) {
+        if (entries.containsKey(name)) {
+            throw new IllegalArgumentException("Atlas already contains " + name);
+        }
+        if (!layout.fits(width, height)) {
+            throw new IllegalArgumentException("Image " + name + " of " + width + "x" + height
+                    + " does not fit a " + layerSize + "x" + layerSize + " atlas layer");
+        }
+        int bytes = width * height * BYTES_PER_PIXEL;
+        if (rgba.remaining() < bytes) {
+            throw new IllegalArgumentException("Image " + name + " needs " + bytes + " bytes, got " + rgba.remaining());
+        }
+
+        AtlasRegion region = layout.allocate(width, height);
+        if (region == null && defragment()) {
+            region = layout.allocate(width, height);
+        }
+        if (region == null) {
+            throw new IllegalStateException("Texture atlas is full, unable to add " + name);
+        }
+
+        // Keep a CPU copy so defragmentation can re-upload the image at its new position
+        ByteBuffer pixels = registry.allocateBytes(bytes, "atlas image " + name);
+        pixels.put(rgba.duplicate().limit(rgba.position() + bytes)).flip();
+        AtlasEntry entry = new AtlasEntry(name, width, height, pixels);
+        entry.setRegion(region);
+        upload(entry);
+        entries.put(name, entry);
+        return entry;
+    }
+
+    public AtlasEntry get(String name) {
+        return entries.get(name);
+    }
+
+    public void remove(String name) {
+        AtlasEntry entry = entries.remove(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Atlas does not contain " + name);
+        }
+        layout.release(entry.getRegion());
+        registry.free(entry.pixels);
+        entry.setRegion(null);
+    }
+
+    // Repacks every live image tallest first. If the repack does not fit, the current layout is kept and false returned.
+    public boolean defragment() {
+        List<AtlasEntry> live = new ArrayList<>(entries.values());
+        live.sort(Comparator.comparingInt(AtlasEntry::getHeight).thenComparingInt(AtlasEntry::getWidth).reversed());
+
+        AtlasRegion[] regions = layout.repack(live);
+        if (regions == null) {
+            return false;
+        }
+        for (int i = 0; i < regions.length; i++) {
+            AtlasEntry entry = live.get(i);
+            entry.setRegion(regions[i]);
+            upload(entry);
+        }
+        defragmentations++;
+        return true;
+    }
+
+    public void bind(int unit) {
+        glActiveTexture(GL_TEXTURE0 + unit);
+        glBindTexture(GL_TEXTURE_2D_ARRAY, texture);
+    }
+
+    public void delete() {
+        for (AtlasEntry entry : entries.values()) {
+            layout.release(entry.getRegion());
+            registry.free(entry.pixels);
+            entry.setRegion(null);
+        }
+        entries.clear();
+        registry.deleteTexture(texture);
+    }
+
+    public float getOccupancy() {
+        return layout.getOccupancy();
+    }
+
+    public float getFragmentation() {
+        return layout.getFragmentation();
+    }
+
+    public int getLayerCount() {
+        return layout.getLayerCount();
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    public int getDefragmentations() {
+        return defragmentations;
+    }
+
+    private void upload(AtlasEntry entry) {
+        AtlasRegion region = entry.getRegion();
+        glBindTexture(GL_TEXTURE_2D_ARRAY, texture);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        glTexSubImage3D(GL_TEXTURE_2D_ARRAY, 0, region.x(), region.y(), region.layer(), region.width(),
+                region.height(), 1, GL_RGBA, GL_UNSIGNED_BYTE, entry.pixels);
+    }
+}
@@ -0,0 +1,301 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import com.github.oleksandrkukotin.lwjgl.core.ShaderProgram;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallback;
+import org.lwjgl.glfw.GLFWKeyCallback;
+import org.lwjgl.glfw.GLFWVidMode;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLUtil;
+import org.lwjgl.system.Callback;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.SplittableRandom;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+public class TextureAtlasRenderer {
+
+    private static final String VERTEX_SHADER_SOURCE = """
+            #version 330 core
+            layout(location = 0) in vec2 position;
+            layout(location = 1) in vec3 texCoord;
+            layout(location = 2) in vec4 color;
+
+            uniform mat4 projection;
+
+            out vec3 atlasCoord;
+            out vec4 tint;
+
+            void main() {
+                atlasCoord = texCoord;
+                tint = color;
+                gl_Position = projection * vec4(position, 0.0, 1.0);
+            }
+            """;
+
+    private static final String FRAGMENT_SHADER_SOURCE = """
+            #version 330 core
+            in vec3 atlasCoord;
+            in vec4 tint;
+            uniform sampler2DArray atlas;
+            out vec4 FragColor;
+            void main() {
+                FragColor = texture(atlas, atlasCoord) * tint;
+            }
+            """;
+
+    private static final int ATLAS_LAYER_SIZE = 512;
+    private static final int ATLAS_MAX_LAYERS = 4;
+    private static final int IMAGE_COUNT = 300;
+    private static final int SPRITE_COUNT = 6000;
+    private static final int MAX_BATCH_SPRITES = 16384;
+    // Images swapped out every churn interval to exercise incremental insertion and defragmentation
+    private static final int IMAGES_PER_CHURN = 16;
+    private static final double CHURN_INTERVAL_SECONDS = 0.5;
+
+    private long window;
+    private int width;
+    private int height;
+
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry();
+    private final SplittableRandom random = new SplittableRandom(42L);
+    private int imagesCreated;
+
+    private GLFWKeyCallback keyCallback;
+    private GLFWFramebufferSizeCallback fbCallback;
+    private Callback debugProc;
+
+    public void run() {
+        try {
+            initializeGLFW();
+            render();
+
+            glfwDestroyWindow(window);
+            keyCallback.free();
+            fbCallback.free();
+            if (debugProc != null)
+                debugProc.free();
+        } finally {
+            glfwTerminate();
+            glfwSetErrorCallback(null).free();
+        }
+    }
+
+    private void initializeGLFW() {
+        if (!glfwInit()) {
+            throw new IllegalStateException("Unable to initialize GLFW");
+        }
+
+        setHints();
+        createWindow();
+        setCallbacks();
+
+        GLFWVidMode vidMode = glfwGetVideoMode(glfwGetPrimaryMonitor());
+        glfwSetWindowPos(window, (vidMode.width() - width) / 2, (vidMode.height() - height) / 2);
+        try (MemoryStack frame = MemoryStack.stackPush()) {
+            IntBuffer frameBufferSize = frame.mallocInt(2);
+            nglfwGetFramebufferSize(window, memAddress(frameBufferSize), memAddress(frameBufferSize) + 4);
+            width = frameBufferSize.get(0);
+            height = frameBufferSize.get(1);
+        }
+        setupAndInitializeOpenGLContext();
+    }
+
+    private void setHints() {
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, 3);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, 3);
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+    }
+
+    private void createWindow() {
+        window = glfwCreateWindow(1920 / 2, 1080 / 2, "Texture Atlas", 0, 0);
+        if (window == 0) {
+            throw new IllegalStateException("Unable to create window");
+        }
+    }
+
+    private void setCallbacks() {
+        GLFWErrorCallback errorCallback = GLFWErrorCallback.createPrint(System.err);
+        glfwSetErrorCallback(errorCallback);
+
+        keyCallback = new GLFWKeyCallback() {
+            @Override
+            public void invoke(long window, int key, int scancode, int action, int mods) {
+                if (key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE)
+                    glfwSetWindowShouldClose(window, true);
+            }
+        };
+        glfwSetKeyCallback(window, keyCallback);
+
+        fbCallback = new GLFWFramebufferSizeCallback() {
+            @Override
+            public void invoke(long window, int w, int h) {
+                if (w > 0 && h > 0) {
+                    width = w;
+                    height = h;
+                }
+            }
+        };
+        glfwSetFramebufferSizeCallback(window, fbCallback);
+    }
+
+    private void setupAndInitializeOpenGLContext() {
+        glfwMakeContextCurrent(window);
+        glfwSwapInterval(1);
+        glfwShowWindow(window);
+    }
+
+    private void render() {
+        GL.createCapabilities();
+        debugProc = GLUtil.setupDebugMessageCallback();
+
+        glClearColor(0.08f, 0.08f, 0.1f, 0.0f);
+        glEnable(GL_BLEND);
+        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+
+        int shaderProgram = resourceRegistry.registerProgram(
+                new ShaderProgram(VERTEX_SHADER_SOURCE, FRAGMENT_SHADER_SOURCE).create(), "sprite shader");
+        glUseProgram(shaderProgram);
+        glUniform1i(glGetUniformLocation(shaderProgram, "atlas"), 0);
+        int projectionLocation = glGetUniformLocation(shaderProgram, "projection");
+
+        TextureAtlas atlas = new TextureAtlas(ATLAS_LAYER_SIZE, ATLAS_MAX_LAYERS, resourceRegistry);
+        SpriteBatch spriteBatch = new SpriteBatch(MAX_BATCH_SPRITES, resourceRegistry);
+
+        AtlasEntry[] images = new AtlasEntry[IMAGE_COUNT];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = addRandomImage(atlas);
+        }
+
+        float[] spriteX = new float[SPRITE_COUNT];
+        float[] spriteY = new float[SPRITE_COUNT];
+        float[] velocityX = new float[SPRITE_COUNT];
+        float[] velocityY = new float[SPRITE_COUNT];
+        int[] spriteImage = new int[SPRITE_COUNT];
+        for (int i = 0; i < SPRITE_COUNT; i++) {
+            spriteX[i] = (float) random.nextDouble(width);
+            spriteY[i] = (float) random.nextDouble(height);
+            velocityX[i] = (float) random.nextDouble(-120.0, 120.0);
+            velocityY[i] = (float) random.nextDouble(-120.0, 120.0);
+            spriteImage[i] = random.nextInt(IMAGE_COUNT);
+        }
+
+        long previousTime = System.nanoTime();
+        double churnTimer = 0.0;
+        double statsTimer = 0.0;
+        while (!glfwWindowShouldClose(window)) {
+            long now = System.nanoTime();
+            float deltaTime = Math.min((now - previousTime) / 1_000_000_000.0f, 0.05f);
+            previousTime = now;
+
+            churnTimer += deltaTime;
+            if (churnTimer >= CHURN_INTERVAL_SECONDS) {
+                for (int i = 0; i < IMAGES_PER_CHURN; i++) {
+                    int slot = random.nextInt(IMAGE_COUNT);
+                    atlas.remove(images[slot].getName());
+                    images[slot] = addRandomImage(atlas);
+                }
+                churnTimer = 0.0;
+            }
+
+            glClear(GL_COLOR_BUFFER_BIT);
+            glViewport(0, 0, width, height);
+            glUniformMatrix4fv(projectionLocation, false, new float[]{
+                    2.0f / width, 0.0f, 0.0f, 0.0f,
+                    0.0f, 2.0f / height, 0.0f, 0.0f,
+                    0.0f, 0.0f, -1.0f, 0.0f,
+                    -1.0f, -1.0f, 0.0f, 1.0f
+            });
+
+            spriteBatch.resetFrameStats();
+            for (int i = 0; i < SPRITE_COUNT; i++) {
+                spriteX[i] += velocityX[i] * deltaTime;
+                spriteY[i] += velocityY[i] * deltaTime;
+                if (spriteX[i] < 0.0f || spriteX[i] > width) {
+                    velocityX[i] = -velocityX[i];
+                }
+                if (spriteY[i] < 0.0f || spriteY[i] > height) {
+                    velocityY[i] = -velocityY[i];
+                }
+                AtlasEntry image = images[spriteImage[i]];
+                spriteBatch.draw(atlas, image, spriteX[i], spriteY[i], image.getWidth(), image.getHeight(),
+                        1.0f, 1.0f, 1.0f, 1.0f);
+            }
+            spriteBatch.end();
+
+            glfwSwapBuffers(window);
+            glfwPollEvents();
+
+            statsTimer += deltaTime;
+            if (statsTimer >= 1.0) {
+                glfwSetWindowTitle(window, String.format(
+                        "Texture Atlas - %,d sprites, %d draws, %d batch breaks, %d layers, %.0f%% occupied, "
+                                + "%.0f%% fragmented, %d defrags",
+                        spriteBatch.getSpritesDrawn(), spriteBatch.getDrawCalls(), spriteBatch.getBatchBreaks(),
+                        atlas.getLayerCount(), atlas.getOccupancy() * 100.0f, atlas.getFragmentation() * 100.0f,
+                        atlas.getDefragmentations()));
+                statsTimer = 0.0;
+            }
+        }
+
+        spriteBatch.delete();
+        atlas.delete();
+        resourceRegistry.deleteProgram(shaderProgram);
+        resourceRegistry.reportLeaks();
+    }
+
+    private AtlasEntry addRandomImage(TextureAtlas atlas) {
+        int imageWidth = random.nextInt(8, 65);
+        int imageHeight = random.nextInt(8, 65);
+        ByteBuffer pixels = memAlloc(imageWidth * imageHeight * 4);
+        try {
+            fillPattern(pixels, imageWidth, imageHeight, random.nextInt(3));
+            return atlas.add("image " + imagesCreated++, imageWidth, imageHeight, pixels);
+        } finally {
+            memFree(pixels);
+        }
+    }
+
+    private void fillPattern(ByteBuffer pixels, int imageWidth, int imageHeight, int pattern) {
+        int red = random.nextInt(64, 256);
+        int green = random.nextInt(64, 256);
+        int blue = random.nextInt(64, 256);
+        float centerX = imageWidth / 2.0f;
+        float centerY = imageHeight / 2.0f;
+        float radius = Math.min(centerX, centerY);
+        for (int y = 0; y < imageHeight; y++) {
+            for (int x = 0; x < imageWidth; x++) {
+                int alpha = 255;
+                float shade = switch (pattern) {
+                    case 0 -> ((x / 4 + y / 4) & 1) == 0 ? 1.0f : 0.4f;
+                    case 1 -> {
+                        float distance = (float) Math.hypot(x + 0.5f - centerX, y + 0.5f - centerY);
+                        alpha = distance <= radius ? 255 : 0;
+                        yield 1.0f - 0.6f * distance / radius;
+                    }
+                    default -> 0.3f + 0.7f * y / imageHeight;
+                };
+                shade = Math.max(0.0f, shade);
+                pixels.put((byte) (red * shade)).put((byte) (green * shade)).put((byte) (blue * shade))
+                        .put((byte) alpha);
+            }
+        }
+        pixels.flip();
+    }
+
+    public static void main(String[] args) {
+        new TextureAtlasRenderer().run();
+    }
+}
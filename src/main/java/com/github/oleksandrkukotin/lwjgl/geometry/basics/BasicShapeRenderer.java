@@ -1,5 +1,7 @@
 package com.github.oleksandrkukotin.lwjgl.geometry.basics;
 
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWFramebufferSizeCallback;
@@ -15,7 +17,6 @@ import java.nio.IntBuffer;
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL15.*;
-import static org.lwjgl.opengl.GL15C.glGenBuffers;
 import static org.lwjgl.system.MemoryUtil.memAddress;
 
 public class BasicShapeRenderer {
@@ -24,6 +25,8 @@ public class BasicShapeRenderer {
     private int width;
     private int height;
 
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry();
+
     private GLFWKeyCallback keyCallback;
     private GLFWFramebufferSizeCallback fbCallback;
     private Callback debugProc;
@@ -118,8 +121,8 @@ public class BasicShapeRenderer {
         glClearColor(0.2f, 0.3f, 0.3f, 0.0f);
 
         // Triangle A
-        int vbo = glGenBuffers();
-        int ebo = glGenBuffers();
+        int vbo = resourceRegistry.createBuffer("triangle A vertices");
+        int ebo = resourceRegistry.createBuffer("triangle A indices");
         float[] vertices = {
                 0.0f, 0.0f,
                 0.5f, 1.0f,
@@ -158,14 +161,20 @@ public class BasicShapeRenderer {
             glfwPollEvents();
             color += 0.02f;
         }
+
+        resourceRegistry.deleteBuffer(vbo);
+        resourceRegistry.deleteBuffer(ebo);
+        resourceRegistry.reportLeaks();
     }
 
     private void bindBuffersForTriangles(int vbo, int ebo, float[] vertices, int[] indices) {
         glBindBuffer(GL_ARRAY_BUFFER, vbo);
         glBufferData(GL_ARRAY_BUFFER, BufferUtils.createFloatBuffer(vertices.length).put(vertices).flip(), GL_STATIC_DRAW);
+        resourceRegistry.updateSize(ResourceType.BUFFER, vbo, (long) vertices.length * Float.BYTES);
 
         glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
         glBufferData(GL_ELEMENT_ARRAY_BUFFER, BufferUtils.createIntBuffer(indices.length).put(indices).flip(), GL_STATIC_DRAW);
+        resourceRegistry.updateSize(ResourceType.BUFFER, ebo, (long) indices.length * Integer.BYTES);
     }
 
     private void drawTriangle(int vbo, int ebo, float red, float green, float blue, int[] indices) {
@@ -0,0 +1,120 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.indirect;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+import glm_.mat4x4.Mat4;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL40.GL_DRAW_INDIRECT_BUFFER;
+import static org.lwjgl.opengl.GL43.GL_SHADER_STORAGE_BUFFER;
+import static org.lwjgl.opengl.GL43.glMultiDrawElementsIndirect;
+import static org.lwjgl.opengl.GL45.glCreateBuffers;
+import static org.lwjgl.opengl.GL45.glNamedBufferData;
+import static org.lwjgl.opengl.GL45.glNamedBufferSubData;
+
+public class IndirectDrawBatch {
+
+    public static final int DRAW_DATA_BINDING = 0;
+
+    // DrawElementsIndirectCommand: count, instanceCount, firstIndex, baseVertex, baseInstance
+    private static final int COMMAND_INTS = 5;
+    // std430 DrawData: mat4 model, vec4 color
+    private static final int DRAW_DATA_FLOATS = 20;
+
+    private final MeshMegaBuffer meshes;
+    private final int maxDraws;
+    private final int commandBuffer;
+    private final int drawDataBuffer;
+    private final IntBuffer commands;
+    private final FloatBuffer drawData;
+    private final GpuResourceRegistry registry;
+
+    private int drawCount;
+    private boolean dirty;
+
+    public IndirectDrawBatch(MeshMegaBuffer meshes, int maxDraws, GpuResourceRegistry registry) {
+        if (maxDraws > meshes.getMaxDraws()) {
+            throw new IllegalArgumentException("Batch of " + maxDraws + " draws exceeds the "
+                    + meshes.getMaxDraws() + " draw ids provided by the mega-buffer");
+        }
+        this.meshes = meshes;
+        this.maxDraws = maxDraws;
+        this.registry = registry;
+
+        commands = registry.allocateInts(maxDraws * COMMAND_INTS, "indirect draw commands");
+        drawData = registry.allocateFloats(maxDraws * DRAW_DATA_FLOATS, "indirect draw data");
+
+        // DSA needs names from glCreateBuffers, so these are registered rather than created by the registry
+        commandBuffer = glCreateBuffers();
+        registry.register(ResourceType.BUFFER, commandBuffer, "indirect command buffer");
+        glNamedBufferData(commandBuffer, (long) commands.capacity() * Integer.BYTES, GL_DYNAMIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, commandBuffer, (long) commands.capacity() * Integer.BYTES);
+
+        drawDataBuffer = glCreateBuffers();
+        registry.register(ResourceType.BUFFER, drawDataBuffer, "indirect draw data SSBO");
+        glNamedBufferData(drawDataBuffer, (long) drawData.capacity() * Float.BYTES, GL_DYNAMIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, drawDataBuffer, (long) drawData.capacity() * Float.BYTES);
+    }
+
+    public void add(MeshAllocation mesh, Mat4 model, float red, float green, float blue) {
+        if (drawCount == maxDraws) {
+            throw new IllegalStateException("Indirect draw batch is full: " + maxDraws + " draws");
+        }
+
+        int command = drawCount * COMMAND_INTS;
+        commands.put(command, mesh.indexCount())
+                .put(command + 1, 1)
+                .put(command + 2, mesh.firstIndex())
+                .put(command + 3, mesh.baseVertex())
+                .put(command + 4, drawCount);
+
+        int data = drawCount * DRAW_DATA_FLOATS;
+        model.to(drawData.slice(data, 16));
+        drawData.put(data + 16, red)
+                .put(data + 17, green)
+                .put(data + 18, blue)
+                .put(data + 19, 1.0f);
+
+        drawCount++;
+        dirty = true;
+    }
+
+    public void clear() {
+        drawCount = 0;
+        dirty = true;
+    }
+
+    public void draw() {
+        if (drawCount == 0) {
+            return;
+        }
+        if (dirty) {
+            glNamedBufferSubData(commandBuffer, 0L, commands.slice(0, drawCount * COMMAND_INTS));
+            glNamedBufferSubData(drawDataBuffer, 0L, drawData.slice(0, drawCount * DRAW_DATA_FLOATS));
+            dirty = false;
+        }
+
+        meshes.bind();
+        glBindBuffer(GL_DRAW_INDIRECT_BUFFER, commandBuffer);
+        glBindBufferBase(GL_SHADER_STORAGE_BUFFER, DRAW_DATA_BINDING, drawDataBuffer);
+        glMultiDrawElementsIndirect(GL_TRIANGLES, GL_UNSIGNED_INT, 0L, drawCount, 0);
+    }
+
+    public void delete() {
+        registry.deleteBuffer(commandBuffer);
+        registry.deleteBuffer(drawDataBuffer);
+        registry.free(commands);
+        registry.free(drawData);
+    }
+
+    public int getDrawCount() {
+        return drawCount;
+    }
+}
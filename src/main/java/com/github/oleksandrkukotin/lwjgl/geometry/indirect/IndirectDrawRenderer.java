@@ -0,0 +1,268 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.indirect;
+
+import com.github.oleksandrkukotin.lwjgl.core.ShaderProgram;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import glm_.mat4x4.Mat4;
+import glm_.vec3.Vec3;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallback;
+import org.lwjgl.glfw.GLFWKeyCallback;
+import org.lwjgl.glfw.GLFWVidMode;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLUtil;
+import org.lwjgl.system.Callback;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.IntBuffer;
+
+import static glm_.Java.glm;
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+public class IndirectDrawRenderer {
+
+    private static final String VERTEX_SHADER_SOURCE = """
+            #version 450 core
+            layout(location = 0) in vec3 position;
+            layout(location = 1) in uint drawId;
+
+            struct DrawData {
+                mat4 model;
+                vec4 color;
+            };
+
+            layout(std430, binding = 0) readonly buffer DrawDataBuffer {
+                DrawData draws[];
+            };
+
+            uniform mat4 view;
+            uniform mat4 projection;
+
+            flat out vec4 drawColor;
+
+            void main() {
+                DrawData draw = draws[drawId];
+                drawColor = draw.color;
+                gl_Position = projection * view * draw.model * vec4(position, 1.0);
+            }
+            """;
+
+    private static final String FRAGMENT_SHADER_SOURCE = """
+            #version 450 core
+            flat in vec4 drawColor;
+            out vec4 FragColor;
+            void main() {
+                FragColor = drawColor;
+            }
+            """;
+
+    private static final int GRID_SIZE = 64;
+    private static final float GRID_SPACING = 2.5f;
+
+    private static final float[] CUBE_VERTICES = {
+            -0.5f, -0.5f, -0.5f,
+            0.5f, -0.5f, -0.5f,
+            0.5f, 0.5f, -0.5f,
+            -0.5f, 0.5f, -0.5f,
+            -0.5f, -0.5f, 0.5f,
+            0.5f, -0.5f, 0.5f,
+            0.5f, 0.5f, 0.5f,
+            -0.5f, 0.5f, 0.5f
+    };
+    private static final int[] CUBE_INDICES = {
+            0, 1, 2, 2, 3, 0,
+            4, 5, 6, 6, 7, 4,
+            0, 4, 7, 7, 3, 0,
+            1, 5, 6, 6, 2, 1,
+            3, 2, 6, 6, 7, 3,
+            0, 1, 5, 5, 4, 0
+    };
+
+    private static final float[] PYRAMID_VERTICES = {
+            -0.5f, -0.5f, -0.5f,
+            0.5f, -0.5f, -0.5f,
+            0.5f, -0.5f, 0.5f,
+            -0.5f, -0.5f, 0.5f,
+            0.0f, 0.5f, 0.0f
+    };
+    private static final int[] PYRAMID_INDICES = {
+            0, 1, 2, 2, 3, 0,
+            0, 1, 4,
+            1, 2, 4,
+            2, 3, 4,
+            3, 0, 4
+    };
+
+    private static final float[] OCTAHEDRON_VERTICES = {
+            0.5f, 0.0f, 0.0f,
+            -0.5f, 0.0f, 0.0f,
+            0.0f, 0.5f, 0.0f,
+            0.0f, -0.5f, 0.0f,
+            0.0f, 0.0f, 0.5f,
+            0.0f, 0.0f, -0.5f
+    };
+    private static final int[] OCTAHEDRON_INDICES = {
+            0, 2, 4, 4, 2, 1, 1, 2, 5, 5, 2, 0,
+            0, 3, 4, 4, 3, 1, 1, 3, 5, 5, 3, 0
+    };
+
+    private long window;
+    private int width;
+    private int height;
+
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry();
+
+    private GLFWKeyCallback keyCallback;
+    private GLFWFramebufferSizeCallback fbCallback;
+    private Callback debugProc;
+
+    public void run() {
+        try {
+            initializeGLFW();
+            render();
+
+            glfwDestroyWindow(window);
+            keyCallback.free();
+            fbCallback.free();
+            if (debugProc != null)
+                debugProc.free();
+        } finally {
+            glfwTerminate();
+            glfwSetErrorCallback(null).free();
+        }
+    }
+
+    private void initializeGLFW() {
+        if (!glfwInit()) {
+            throw new IllegalStateException("Unable to initialize GLFW");
+        }
+
+        setHints();
+        createWindow();
+        setCallbacks();
+
+        GLFWVidMode vidMode = glfwGetVideoMode(glfwGetPrimaryMonitor());
+        glfwSetWindowPos(window, (vidMode.width() - width) / 2, (vidMode.height() - height) / 2);
+        try (MemoryStack frame = MemoryStack.stackPush()) {
+            IntBuffer frameBufferSize = frame.mallocInt(2);
+            nglfwGetFramebufferSize(window, memAddress(frameBufferSize), memAddress(frameBufferSize) + 4);
+            width = frameBufferSize.get(0);
+            height = frameBufferSize.get(1);
+        }
+        setupAndInitializeOpenGLContext();
+    }
+
+    private void setHints() {
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, 4);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, 5);
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+    }
+
+    private void createWindow() {
+        window = glfwCreateWindow(1920 / 2, 1080 / 2, "Indirect Multi-Draw", 0, 0);
+        if (window == 0) {
+            throw new IllegalStateException("Unable to create window");
+        }
+    }
+
+    private void setCallbacks() {
+        GLFWErrorCallback errorCallback = GLFWErrorCallback.createPrint(System.err);
+        glfwSetErrorCallback(errorCallback);
+
+        keyCallback = new GLFWKeyCallback() {
+            @Override
+            public void invoke(long window, int key, int scancode, int action, int mods) {
+                if (key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE)
+                    glfwSetWindowShouldClose(window, true);
+            }
+        };
+        glfwSetKeyCallback(window, keyCallback);
+
+        fbCallback = new GLFWFramebufferSizeCallback() {
+            @Override
+            public void invoke(long window, int w, int h) {
+                if (w > 0 && h > 0) {
+                    width = w;
+                    height = h;
+                }
+            }
+        };
+        glfwSetFramebufferSizeCallback(window, fbCallback);
+    }
+
+    private void setupAndInitializeOpenGLContext() {
+        glfwMakeContextCurrent(window);
+        glfwSwapInterval(1);
+        glfwShowWindow(window);
+    }
+
+    private void render() {
+        GL.createCapabilities();
+        debugProc = GLUtil.setupDebugMessageCallback();
+
+        glClearColor(0.1f, 0.1f, 0.15f, 0.0f);
+
+        int shaderProgram = resourceRegistry.registerProgram(
+                new ShaderProgram(VERTEX_SHADER_SOURCE, FRAGMENT_SHADER_SOURCE).create(), "indirect draw shader");
+
+        int drawCount = GRID_SIZE * GRID_SIZE;
+        MeshMegaBuffer meshes = new MeshMegaBuffer(1024, 4096, drawCount, resourceRegistry);
+        MeshAllocation[] shapes = {
+                meshes.allocate(CUBE_VERTICES, CUBE_INDICES),
+                meshes.allocate(PYRAMID_VERTICES, PYRAMID_INDICES),
+                meshes.allocate(OCTAHEDRON_VERTICES, OCTAHEDRON_INDICES)
+        };
+
+        IndirectDrawBatch batch = new IndirectDrawBatch(meshes, drawCount, resourceRegistry);
+        float gridOffset = (GRID_SIZE - 1) * GRID_SPACING / 2.0f;
+        for (int z = 0; z < GRID_SIZE; z++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                Mat4 model = new Mat4(1.0f)
+                        .translate(new Vec3(x * GRID_SPACING - gridOffset, 0.0f, z * GRID_SPACING - gridOffset))
+                        .rotate((x + z) * 0.3f, new Vec3(0.0f, 1.0f, 0.0f));
+                batch.add(shapes[(x + z) % shapes.length], model,
+                        (float) x / GRID_SIZE, 0.4f, (float) z / GRID_SIZE);
+            }
+        }
+
+        glUseProgram(shaderProgram);
+        glEnable(GL_DEPTH_TEST);
+        int viewLocation = glGetUniformLocation(shaderProgram, "view");
+        int projectionLocation = glGetUniformLocation(shaderProgram, "projection");
+
+        float angle = 0.0f;
+        while (!glfwWindowShouldClose(window)) {
+            glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+
+            glViewport(0, 0, width, height);
+
+            Vec3 eye = new Vec3((float) Math.cos(angle) * 110.0f, 45.0f, (float) Math.sin(angle) * 110.0f);
+            Mat4 view = glm.lookAt(eye, new Vec3(0.0f, 0.0f, 0.0f), new Vec3(0.0f, 1.0f, 0.0f));
+            glUniformMatrix4fv(viewLocation, false, view.to(BufferUtils.createFloatBuffer(16)));
+
+            Mat4 projection = glm.perspective((float) Math.toRadians(45.0f), (float) width / height, 0.1f, 400.0f);
+            glUniformMatrix4fv(projectionLocation, false, projection.to(BufferUtils.createFloatBuffer(16)));
+
+            batch.draw();
+
+            glfwSwapBuffers(window);
+            glfwPollEvents();
+            angle += 0.005f;
+        }
+
+        batch.delete();
+        meshes.delete();
+        resourceRegistry.deleteProgram(shaderProgram);
+        resourceRegistry.reportLeaks();
+    }
+
+    public static void main(String[] args) {
+        new IndirectDrawRenderer().run();
+    }
+}
@@ -0,0 +1,4 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.indirect;
+
+public record MeshAllocation(int firstIndex, int indexCount, int baseVertex) {
+}
@@ -0,0 +1,111 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.indirect;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL30.glVertexAttribIPointer;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+import static org.lwjgl.opengl.GL45.glNamedBufferSubData;
+
+public class MeshMegaBuffer {
+
+    public static final int FLOATS_PER_VERTEX = 3;
+    public static final int POSITION_LOCATION = 0;
+    public static final int DRAW_ID_LOCATION = 1;
+
+    private final int vao;
+    private final int vbo;
+    private final int ebo;
+    private final int drawIdBuffer;
+    private final int vertexCapacity;
+    private final int indexCapacity;
+    private final int maxDraws;
+    private final GpuResourceRegistry registry;
+
+    private int vertexCount;
+    private int indexCount;
+
+    public MeshMegaBuffer(int vertexCapacity, int indexCapacity, int maxDraws, GpuResourceRegistry registry) {
+        this.vertexCapacity = vertexCapacity;
+        this.indexCapacity = indexCapacity;
+        this.maxDraws = maxDraws;
+        this.registry = registry;
+
+        vao = registry.createVertexArray("mesh mega-buffer");
+        vbo = registry.createBuffer("mesh mega-buffer vertices");
+        ebo = registry.createBuffer("mesh mega-buffer indices");
+        drawIdBuffer = registry.createBuffer("mesh mega-buffer draw ids");
+
+        glBindVertexArray(vao);
+
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, (long) vertexCapacity * FLOATS_PER_VERTEX * Float.BYTES, GL_STATIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, vbo, (long) vertexCapacity * FLOATS_PER_VERTEX * Float.BYTES);
+        glVertexAttribPointer(POSITION_LOCATION, FLOATS_PER_VERTEX, GL_FLOAT, false,
+                FLOATS_PER_VERTEX * Float.BYTES, 0L);
+        glEnableVertexAttribArray(POSITION_LOCATION);
+
+        // Indirect commands use baseInstance as the draw index, which this instanced attribute hands to the shader
+        int[] drawIds = new int[maxDraws];
+        for (int i = 0; i < maxDraws; i++) {
+            drawIds[i] = i;
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, drawIdBuffer);
+        glBufferData(GL_ARRAY_BUFFER, drawIds, GL_STATIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, drawIdBuffer, (long) maxDraws * Integer.BYTES);
+        glVertexAttribIPointer(DRAW_ID_LOCATION, 1, GL_UNSIGNED_INT, Integer.BYTES, 0L);
+        glVertexAttribDivisor(DRAW_ID_LOCATION, 1);
+        glEnableVertexAttribArray(DRAW_ID_LOCATION);
+
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, (long) indexCapacity * Integer.BYTES, GL_STATIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, ebo, (long) indexCapacity * Integer.BYTES);
+
+        glBindVertexArray(0);
+    }
+
+    public MeshAllocation allocate(float[] vertices, int[] indices) {
+        int meshVertexCount = vertices.length / FLOATS_PER_VERTEX;
+        if (vertexCount + meshVertexCount > vertexCapacity || indexCount + indices.length > indexCapacity) {
+            throw new IllegalStateException("Mesh mega-buffer is out of space for a mesh of "
+                    + meshVertexCount + " vertices and " + indices.length + " indices");
+        }
+
+        glNamedBufferSubData(vbo, (long) vertexCount * FLOATS_PER_VERTEX * Float.BYTES, vertices);
+        glNamedBufferSubData(ebo, (long) indexCount * Integer.BYTES, indices);
+
+        MeshAllocation allocation = new MeshAllocation(indexCount, indices.length, vertexCount);
+        vertexCount += meshVertexCount;
+        indexCount += indices.length;
+        return allocation;
+    }
+
+    public void bind() {
+        glBindVertexArray(vao);
+    }
+
+    public void delete() {
+        registry.deleteVertexArray(vao);
+        registry.deleteBuffer(vbo);
+        registry.deleteBuffer(ebo);
+        registry.deleteBuffer(drawIdBuffer);
+    }
+
+    public int getMaxDraws() {
+        return maxDraws;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.oleksandrkukotin.lwjgl.geometry.matrices;
 
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
 import com.github.oleksandrkukotin.lwjgl.geometry.matrices.exception.ShaderCompileException;
 import glm_.mat4x4.Mat4;
 import glm_.vec3.Vec3;
@@ -20,7 +22,6 @@ import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.opengl.GL11.glClearColor;
 import static org.lwjgl.opengl.GL20.*;
 import static org.lwjgl.opengl.GL30.glBindVertexArray;
-import static org.lwjgl.opengl.GL30.glGenVertexArrays;
 import static org.lwjgl.system.MemoryUtil.memAddress;
 
 public class ProgrammablePipelineRenderer {
@@ -47,6 +48,8 @@ public class ProgrammablePipelineRenderer {
     private int width;
     private int height;
 
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry();
+
     private GLFWKeyCallback keyCallback;
     private GLFWFramebufferSizeCallback fbCallback;
     private Callback debugProc;
@@ -141,11 +144,11 @@ public class ProgrammablePipelineRenderer {
 
         glClearColor(0.2f, 0.1f, 0.5f, 0.0f);
 
-        int shaderProgram = createShaderProgram();
+        int shaderProgram = resourceRegistry.registerProgram(createShaderProgram(), "pipeline shader");
 
-        int vbo = glGenBuffers();
-        int ebo = glGenBuffers();
-        int vao = glGenVertexArrays();
+        int vbo = resourceRegistry.createBuffer("triangles vertices");
+        int ebo = resourceRegistry.createBuffer("triangles indices");
+        int vao = resourceRegistry.createVertexArray("triangles");
         float[] vertices = {
                 0.0f, 0.0f,
                 0.5f, 1.0f,
@@ -184,6 +187,12 @@ public class ProgrammablePipelineRenderer {
             glfwPollEvents();
             color += 0.05f;
         }
+
+        resourceRegistry.deleteVertexArray(vao);
+        resourceRegistry.deleteBuffer(vbo);
+        resourceRegistry.deleteBuffer(ebo);
+        resourceRegistry.deleteProgram(shaderProgram);
+        resourceRegistry.reportLeaks();
     }
 
     private int createShaderProgram() {
@@ -223,12 +232,14 @@ public class ProgrammablePipelineRenderer {
 
         glBindBuffer(GL_ARRAY_BUFFER, vbo);
         glBufferData(GL_ARRAY_BUFFER, BufferUtils.createFloatBuffer(vertices.length).put(vertices).flip(), GL_STATIC_DRAW);
+        resourceRegistry.updateSize(ResourceType.BUFFER, vbo, (long) vertices.length * Float.BYTES);
 
         glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0L);
         glEnableVertexAttribArray(0);
 
         glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
         glBufferData(GL_ELEMENT_ARRAY_BUFFER, BufferUtils.createIntBuffer(indices.length).put(indices).flip(), GL_STATIC_DRAW);
+        resourceRegistry.updateSize(ResourceType.BUFFER, ebo, (long) indices.length * Integer.BYTES);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,45 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import java.util.SplittableRandom;
+
+public class ParticleEmitter {
+
+    private final SplittableRandom random = new SplittableRandom();
+    private final float x;
+    private final float y;
+    private final float z;
+    private final float particlesPerSecond;
+    private final float speed;
+    private final float spread;
+    private final float lifetime;
+
+    private float pendingParticles;
+
+    public ParticleEmitter(float x, float y, float z, float particlesPerSecond, float speed, float spread,
+                           float lifetime) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.particlesPerSecond = particlesPerSecond;
+        this.speed = speed;
+        this.spread = spread;
+        this.lifetime = lifetime;
+    }
+
+    public void emit(ParticleStorage particles, float deltaTime) {
+        pendingParticles += particlesPerSecond * deltaTime;
+        int count = (int) pendingParticles;
+        pendingParticles -= count;
+
+        for (int i = 0; i < count; i++) {
+            float vx = (float) (random.nextDouble() * 2.0 - 1.0) * spread;
+            float vz = (float) (random.nextDouble() * 2.0 - 1.0) * spread;
+            float vy = speed * (0.75f + 0.25f * (float) random.nextDouble());
+            float warmth = (float) random.nextDouble();
+            float particleLifetime = lifetime * (0.5f + 0.5f * (float) random.nextDouble());
+            if (!particles.spawn(x, y, z, vx, vy, vz, 1.0f, 0.3f + 0.5f * warmth, 0.1f * warmth, particleLifetime)) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+
+import java.util.stream.IntStream;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLE_STRIP;
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.GL_MAP_INVALIDATE_BUFFER_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_UNSYNCHRONIZED_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL30.nglMapBufferRange;
+import static org.lwjgl.opengl.GL31.glDrawArraysInstanced;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
+public class ParticleRenderer {
+
+    private static final int CORNER_LOCATION = 0;
+    private static final int POSITION_LOCATION = 1;
+    private static final int COLOR_LOCATION = 2;
+    // Instance layout: vec3 position, vec4 color
+    private static final int INSTANCE_FLOATS = 7;
+    private static final int INSTANCE_BYTES = INSTANCE_FLOATS * Float.BYTES;
+    private static final float FADE_OUT_SECONDS = 0.5f;
+
+    private static final float[] QUAD_CORNERS = {
+            -1.0f, -1.0f,
+            1.0f, -1.0f,
+            -1.0f, 1.0f,
+            1.0f, 1.0f
+    };
+
+    private final int vao;
+    private final int quadVbo;
+    private final int instanceVbo;
+    private final long instanceBufferBytes;
+    private final GpuResourceRegistry registry;
+
+    public ParticleRenderer(int capacity, GpuResourceRegistry registry) {
+        this.registry = registry;
+        instanceBufferBytes = (long) capacity * INSTANCE_BYTES;
+
+        vao = registry.createVertexArray("particles");
+        quadVbo = registry.createBuffer("particle quad");
+        instanceVbo = registry.createBuffer("particle instances");
+
+        glBindVertexArray(vao);
+
+        glBindBuffer(GL_ARRAY_BUFFER, quadVbo);
+        glBufferData(GL_ARRAY_BUFFER, QUAD_CORNERS, GL_STATIC_DRAW);
+        registry.updateSize(ResourceType.BUFFER, quadVbo, (long) QUAD_CORNERS.length * Float.BYTES);
+        glVertexAttribPointer(CORNER_LOCATION, 2, GL_FLOAT, false, 2 * Float.BYTES, 0L);
+        glEnableVertexAttribArray(CORNER_LOCATION);
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVbo);
+        glBufferData(GL_ARRAY_BUFFER, instanceBufferBytes, GL_STREAM_DRAW);
+        registry.updateSize(ResourceType.BUFFER, instanceVbo, instanceBufferBytes);
+        glVertexAttribPointer(POSITION_LOCATION, 3, GL_FLOAT, false, INSTANCE_BYTES, 0L);
+        glVertexAttribDivisor(POSITION_LOCATION, 1);
+        glEnableVertexAttribArray(POSITION_LOCATION);
+        glVertexAttribPointer(COLOR_LOCATION, 4, GL_FLOAT, false, INSTANCE_BYTES, 3L * Float.BYTES);
+        glVertexAttribDivisor(COLOR_LOCATION, 1);
+        glEnableVertexAttribArray(COLOR_LOCATION);
+
+        glBindVertexArray(0);
+    }
+
+    public void render(ParticleStorage particles) {
+        int alive = particles.getAliveCount();
+        if (alive == 0) {
+            return;
+        }
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVbo);
+        // Orphan the previous frame's storage so mapping never waits on draws still in flight
+        glBufferData(GL_ARRAY_BUFFER, instanceBufferBytes, GL_STREAM_DRAW);
+        long address = nglMapBufferRange(GL_ARRAY_BUFFER, 0L, (long) alive * INSTANCE_BYTES,
+                GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT | GL_MAP_UNSYNCHRONIZED_BIT);
+        if (address == 0L) {
+            throw new IllegalStateException("Unable to map particle instance buffer");
+        }
+
+        int slices = (alive + ParticleUpdater.SLICE_SIZE - 1) / ParticleUpdater.SLICE_SIZE;
+        IntStream.range(0, slices).parallel().forEach(slice -> {
+            int from = slice * ParticleUpdater.SLICE_SIZE;
+            int to = Math.min(from + ParticleUpdater.SLICE_SIZE, alive);
+            writeInstances(particles, address, from, to);
+        });
+        glUnmapBuffer(GL_ARRAY_BUFFER);
+
+        glBindVertexArray(vao);
+        glDrawArraysInstanced(GL_TRIANGLE_STRIP, 0, 4, alive);
+    }
+
+    public void delete() {
+        registry.deleteVertexArray(vao);
+        registry.deleteBuffer(quadVbo);
+        registry.deleteBuffer(instanceVbo);
+    }
+
+    private static void writeInstances(ParticleStorage particles, long address, int from, int to) {
+        long instance = address + (long) from * INSTANCE_BYTES;
+        for (int i = from; i < to; i++, instance += INSTANCE_BYTES) {
+            memPutFloat(instance, particles.positionX[i]);
+            memPutFloat(instance + 4, particles.positionY[i]);
+            memPutFloat(instance + 8, particles.positionZ[i]);
+            memPutFloat(instance + 12, particles.red[i]);
+            memPutFloat(instance + 16, particles.green[i]);
+            memPutFloat(instance + 20, particles.blue[i]);
+            memPutFloat(instance + 24, Math.min(1.0f, particles.life[i] / FADE_OUT_SECONDS));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+public class ParticleStorage {
+
+    // Struct-of-arrays layout keeps every kernel a straight loop over primitive arrays the JIT can vectorize
+    final float[] positionX;
+    final float[] positionY;
+    final float[] positionZ;
+    final float[] velocityX;
+    final float[] velocityY;
+    final float[] velocityZ;
+    final float[] red;
+    final float[] green;
+    final float[] blue;
+    final float[] life;
+
+    private final int capacity;
+    private int aliveCount;
+
+    public ParticleStorage(int capacity) {
+        this.capacity = capacity;
+        positionX = new float[capacity];
+        positionY = new float[capacity];
+        positionZ = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        velocityZ = new float[capacity];
+        red = new float[capacity];
+        green = new float[capacity];
+        blue = new float[capacity];
+        life = new float[capacity];
+    }
+
+    public boolean spawn(float x, float y, float z, float vx, float vy, float vz,
+                         float r, float g, float b, float lifetime) {
+        if (aliveCount == capacity) {
+            return false;
+        }
+        int i = aliveCount++;
+        positionX[i] = x;
+        positionY[i] = y;
+        positionZ[i] = z;
+        velocityX[i] = vx;
+        velocityY[i] = vy;
+        velocityZ[i] = vz;
+        red[i] = r;
+        green[i] = g;
+        blue[i] = b;
+        life[i] = lifetime;
+        return true;
+    }
+
+    void move(int from, int to) {
+        positionX[to] = positionX[from];
+        positionY[to] = positionY[from];
+        positionZ[to] = positionZ[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        velocityZ[to] = velocityZ[from];
+        red[to] = red[from];
+        green[to] = green[from];
+        blue[to] = blue[from];
+        life[to] = life[from];
+    }
+
+    void moveRange(int from, int to, int length) {
+        System.arraycopy(positionX, from, positionX, to, length);
+        System.arraycopy(positionY, from, positionY, to, length);
+        System.arraycopy(positionZ, from, positionZ, to, length);
+        System.arraycopy(velocityX, from, velocityX, to, length);
+        System.arraycopy(velocityY, from, velocityY, to, length);
+        System.arraycopy(velocityZ, from, velocityZ, to, length);
+        System.arraycopy(red, from, red, to, length);
+        System.arraycopy(green, from, green, to, length);
+        System.arraycopy(blue, from, blue, to, length);
+        System.arraycopy(life, from, life, to, length);
+    }
+
+    void setAliveCount(int aliveCount) {
+        this.aliveCount = aliveCount;
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import com.github.oleksandrkukotin.lwjgl.core.ShaderProgram;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import glm_.mat4x4.Mat4;
+import glm_.vec3.Vec3;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallback;
+import org.lwjgl.glfw.GLFWKeyCallback;
+import org.lwjgl.glfw.GLFWVidMode;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLUtil;
+import org.lwjgl.system.Callback;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.IntBuffer;
+
+import static glm_.Java.glm;
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+public class ParticleSystemRenderer {
+
+    private static final String VERTEX_SHADER_SOURCE = """
+            #version 330 core
+            layout(location = 0) in vec2 corner;
+            layout(location = 1) in vec3 position;
+            layout(location = 2) in vec4 color;
+
+            uniform mat4 view;
+            uniform mat4 projection;
+            uniform float size;
+
+            out vec4 particleColor;
+
+            void main() {
+                particleColor = color;
+                vec4 center = view * vec4(position, 1.0);
+                gl_Position = projection * (center + vec4(corner * size, 0.0, 0.0));
+            }
+            """;
+
+    private static final String FRAGMENT_SHADER_SOURCE = """
+            #version 330 core
+            in vec4 particleColor;
+            out vec4 FragColor;
+            void main() {
+                FragColor = particleColor;
+            }
+            """;
+
+    private static final int MAX_PARTICLES = 1 << 20;
+    private static final float PARTICLES_PER_SECOND = 450_000.0f;
+    private static final float GRAVITY = -9.81f;
+
+    private long window;
+    private int width;
+    private int height;
+
+    private final GpuResourceRegistry resourceRegistry = new GpuResourceRegistry();
+
+    private GLFWKeyCallback keyCallback;
+    private GLFWFramebufferSizeCallback fbCallback;
+    private Callback debugProc;
+
+    public void run() {
+        try {
+            initializeGLFW();
+            render();
+
+            glfwDestroyWindow(window);
+            keyCallback.free();
+            fbCallback.free();
+            if (debugProc != null)
+                debugProc.free();
+        } finally {
+            glfwTerminate();
+            glfwSetErrorCallback(null).free();
+        }
+    }
+
+    private void initializeGLFW() {
+        if (!glfwInit()) {
+            throw new IllegalStateException("Unable to initialize GLFW");
+        }
+
+        setHints();
+        createWindow();
+        setCallbacks();
+
+        GLFWVidMode vidMode = glfwGetVideoMode(glfwGetPrimaryMonitor());
+        glfwSetWindowPos(window, (vidMode.width() - width) / 2, (vidMode.height() - height) / 2);
+        try (MemoryStack frame = MemoryStack.stackPush()) {
+            IntBuffer frameBufferSize = frame.mallocInt(2);
+            nglfwGetFramebufferSize(window, memAddress(frameBufferSize), memAddress(frameBufferSize) + 4);
+            width = frameBufferSize.get(0);
+            height = frameBufferSize.get(1);
+        }
+        setupAndInitializeOpenGLContext();
+    }
+
+    private void setHints() {
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, 3);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, 3);
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+    }
+
+    private void createWindow() {
+        window = glfwCreateWindow(1920 / 2, 1080 / 2, "Particle System", 0, 0);
+        if (window == 0) {
+            throw new IllegalStateException("Unable to create window");
+        }
+    }
+
+    private void setCallbacks() {
+        GLFWErrorCallback errorCallback = GLFWErrorCallback.createPrint(System.err);
+        glfwSetErrorCallback(errorCallback);
+
+        keyCallback = new GLFWKeyCallback() {
+            @Override
+            public void invoke(long window, int key, int scancode, int action, int mods) {
+                if (key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE)
+                    glfwSetWindowShouldClose(window, true);
+            }
+        };
+        glfwSetKeyCallback(window, keyCallback);
+
+        fbCallback = new GLFWFramebufferSizeCallback() {
+            @Override
+            public void invoke(long window, int w, int h) {
+                if (w > 0 && h > 0) {
+                    width = w;
+                    height = h;
+                }
+            }
+        };
+        glfwSetFramebufferSizeCallback(window, fbCallback);
+    }
+
+    private void setupAndInitializeOpenGLContext() {
+        glfwMakeContextCurrent(window);
+        glfwSwapInterval(1);
+        glfwShowWindow(window);
+    }
+
+    private void render() {
+        GL.createCapabilities();
+        debugProc = GLUtil.setupDebugMessageCallback();
+
+        glClearColor(0.02f, 0.02f, 0.05f, 0.0f);
+
+        int shaderProgram = resourceRegistry.registerProgram(
+                new ShaderProgram(VERTEX_SHADER_SOURCE, FRAGMENT_SHADER_SOURCE).create(), "particle shader");
+
+        ParticleStorage particles = new ParticleStorage(MAX_PARTICLES);
+        ParticleEmitter emitter = new ParticleEmitter(0.0f, 0.0f, 0.0f, PARTICLES_PER_SECOND, 12.0f, 3.0f, 3.0f);
+        ParticleUpdater updater = new ParticleUpdater(GRAVITY);
+        ParticleRenderer particleRenderer = new ParticleRenderer(MAX_PARTICLES, resourceRegistry);
+
+        glUseProgram(shaderProgram);
+        glEnable(GL_BLEND);
+        glBlendFunc(GL_SRC_ALPHA, GL_ONE);
+        int viewLocation = glGetUniformLocation(shaderProgram, "view");
+        int projectionLocation = glGetUniformLocation(shaderProgram, "projection");
+        glUniform1f(glGetUniformLocation(shaderProgram, "size"), 0.04f);
+
+        Mat4 view = glm.lookAt(new Vec3(0.0f, 6.0f, 22.0f), new Vec3(0.0f, 5.0f, 0.0f), new Vec3(0.0f, 1.0f, 0.0f));
+        glUniformMatrix4fv(viewLocation, false, view.to(BufferUtils.createFloatBuffer(16)));
+
+        long previousTime = System.nanoTime();
+        long updateNanos = 0L;
+        int frames = 0;
+        double statsTimer = 0.0;
+        while (!glfwWindowShouldClose(window)) {
+            long now = System.nanoTime();
+            float deltaTime = Math.min((now - previousTime) / 1_000_000_000.0f, 0.05f);
+            previousTime = now;
+
+            long updateStart = System.nanoTime();
+            emitter.emit(particles, deltaTime);
+            updater.update(particles, deltaTime);
+            updateNanos += System.nanoTime() - updateStart;
+
+            glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+            glViewport(0, 0, width, height);
+
+            Mat4 projection = glm.perspective((float) Math.toRadians(45.0f), (float) width / height, 0.1f, 100.0f);
+            glUniformMatrix4fv(projectionLocation, false, projection.to(BufferUtils.createFloatBuffer(16)));
+
+            particleRenderer.render(particles);
+
+            glfwSwapBuffers(window);
+            glfwPollEvents();
+
+            frames++;
+            statsTimer += deltaTime;
+            if (statsTimer >= 1.0) {
+                glfwSetWindowTitle(window, String.format("Particle System - %,d particles, %s update %.2f ms",
+                        particles.getAliveCount(), updater.isUsingVectorApi() ? "vector" : "scalar",
+                        updateNanos / 1_000_000.0 / frames));
+                frames = 0;
+                updateNanos = 0L;
+                statsTimer = 0.0;
+            }
+        }
+
+        particleRenderer.delete();
+        resourceRegistry.deleteProgram(shaderProgram);
+        resourceRegistry.reportLeaks();
+    }
+
+    public static void main(String[] args) {
+        new ParticleSystemRenderer().run();
+    }
+}
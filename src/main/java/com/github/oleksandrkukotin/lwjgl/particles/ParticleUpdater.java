@@ -0,0 +1,90 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import java.util.stream.IntStream;
+
+public class ParticleUpdater {
+
+    public static final int SLICE_SIZE = 16 * 1024;
+    public static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final float gravity;
+    private final boolean useVectorApi;
+
+    public ParticleUpdater(float gravity) {
+        this(gravity, VECTOR_API_AVAILABLE);
+    }
+
+    public ParticleUpdater(float gravity, boolean useVectorApi) {
+        if (useVectorApi && !VECTOR_API_AVAILABLE) {
+            throw new IllegalStateException("jdk.incubator.vector is not available, run with --add-modules jdk.incubator.vector");
+        }
+        this.gravity = gravity;
+        this.useVectorApi = useVectorApi;
+    }
+
+    public void update(ParticleStorage particles, float deltaTime) {
+        int alive = particles.getAliveCount();
+        int slices = (alive + SLICE_SIZE - 1) / SLICE_SIZE;
+        int[] survivors = new int[slices];
+
+        IntStream.range(0, slices).parallel().forEach(slice -> {
+            int from = slice * SLICE_SIZE;
+            int to = Math.min(from + SLICE_SIZE, alive);
+            integrate(particles, from, to, deltaTime);
+            survivors[slice] = compact(particles, from, to);
+        });
+
+        // Each slice compacted itself, so closing the gaps between slices is one bulk copy per slice
+        int aliveAfterUpdate = slices > 0 ? survivors[0] : 0;
+        for (int slice = 1; slice < slices; slice++) {
+            if (survivors[slice] > 0) {
+                particles.moveRange(slice * SLICE_SIZE, aliveAfterUpdate, survivors[slice]);
+                aliveAfterUpdate += survivors[slice];
+            }
+        }
+        particles.setAliveCount(aliveAfterUpdate);
+    }
+
+    void integrate(ParticleStorage particles, int from, int to, float deltaTime) {
+        float[] positionX = particles.positionX;
+        float[] positionY = particles.positionY;
+        float[] positionZ = particles.positionZ;
+        float[] velocityX = particles.velocityX;
+        float[] velocityY = particles.velocityY;
+        float[] velocityZ = particles.velocityZ;
+        float[] life = particles.life;
+        float gravityStep = gravity * deltaTime;
+
+        int i = from;
+        if (useVectorApi) {
+            i = VectorParticleKernel.integrate(particles, from, to, gravityStep, deltaTime);
+        }
+        // Scalar fallback, also covers the tail that does not fill a whole vector
+        for (; i < to; i++) {
+            velocityY[i] += gravityStep;
+            positionX[i] += velocityX[i] * deltaTime;
+            positionY[i] += velocityY[i] * deltaTime;
+            positionZ[i] += velocityZ[i] * deltaTime;
+            life[i] -= deltaTime;
+        }
+    }
+
+    int compact(ParticleStorage particles, int from, int to) {
+        float[] life = particles.life;
+        int write = from;
+        for (int read = from; read < to; read++) {
+            if (life[read] > 0.0f) {
+                if (write != read) {
+                    particles.move(read, write);
+                }
+                write++;
+            }
+        }
+        return write - from;
+    }
+
+    public boolean isUsingVectorApi() {
+        return useVectorApi;
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Only loaded when jdk.incubator.vector is resolved at runtime, see ParticleUpdater
+final class VectorParticleKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private VectorParticleKernel() {
+    }
+
+    // Integrates whole vectors from the start of the range and returns the index the scalar tail starts at
+    static int integrate(ParticleStorage particles, int from, int to, float gravityStep, float deltaTime) {
+        float[] positionX = particles.positionX;
+        float[] positionY = particles.positionY;
+        float[] positionZ = particles.positionZ;
+        float[] velocityX = particles.velocityX;
+        float[] velocityY = particles.velocityY;
+        float[] velocityZ = particles.velocityZ;
+        float[] life = particles.life;
+
+        int upperBound = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += SPECIES.length()) {
+            FloatVector vy = FloatVector.fromArray(SPECIES, velocityY, i).add(gravityStep);
+            vy.intoArray(velocityY, i);
+            FloatVector.fromArray(SPECIES, velocityX, i).mul(deltaTime)
+                    .add(FloatVector.fromArray(SPECIES, positionX, i))
+                    .intoArray(positionX, i);
+            vy.mul(deltaTime)
+                    .add(FloatVector.fromArray(SPECIES, positionY, i))
+                    .intoArray(positionY, i);
+            FloatVector.fromArray(SPECIES, velocityZ, i).mul(deltaTime)
+                    .add(FloatVector.fromArray(SPECIES, positionZ, i))
+                    .intoArray(positionZ, i);
+            FloatVector.fromArray(SPECIES, life, i).sub(deltaTime).intoArray(life, i);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+public record ChunkKey(int x, int z) {
+
+    public int distanceTo(int otherX, int otherZ) {
+        return Math.max(Math.abs(x - otherX), Math.abs(z - otherZ));
+    }
+}
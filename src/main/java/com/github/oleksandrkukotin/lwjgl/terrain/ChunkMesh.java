@@ -0,0 +1,44 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+public class ChunkMesh {
+
+    private final ChunkKey key;
+    private final int lod;
+    private final FloatBuffer vertices;
+    private final IntBuffer indices;
+    private final GpuResourceRegistry registry;
+
+    public ChunkMesh(ChunkKey key, int lod, FloatBuffer vertices, IntBuffer indices, GpuResourceRegistry registry) {
+        this.key = key;
+        this.lod = lod;
+        this.vertices = vertices;
+        this.indices = indices;
+        this.registry = registry;
+    }
+
+    public void free() {
+        registry.free(vertices);
+        registry.free(indices);
+    }
+
+    public ChunkKey getKey() {
+        return key;
+    }
+
+    public int getLod() {
+        return lod;
+    }
+
+    public FloatBuffer getVertices() {
+        return vertices;
+    }
+
+    public IntBuffer getIndices() {
+        return indices;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+public class ChunkMeshBuilder {
+
+    public static final int FLOATS_PER_VERTEX = 3;
+    private static final int EDGES = 4;
+
+    private final HeightmapGenerator heightmap;
+    private final float chunkSize;
+    private final int resolution;
+    private final float skirtDepth;
+    private final GpuResourceRegistry registry;
+
+    public ChunkMeshBuilder(HeightmapGenerator heightmap, float chunkSize, int resolution, float skirtDepth,
+                            GpuResourceRegistry registry) {
+        this.heightmap = heightmap;
+        this.chunkSize = chunkSize;
+        this.resolution = resolution;
+        this.skirtDepth = skirtDepth;
+        this.registry = registry;
+    }
+
+    public ChunkMesh build(ChunkKey key, int lod) {
+        int quads = Math.max(1, resolution >> lod);
+        int side = quads + 1;
+        int surfaceVertices = side * side;
+
+        FloatBuffer vertices = registry.allocateFloats((surfaceVertices + EDGES * side) * FLOATS_PER_VERTEX,
+                "terrain chunk " + key + " vertices");
+        IntBuffer indices;
+        try {
+            indices = registry.allocateInts((quads * quads + EDGES * quads) * 6, "terrain chunk " + key + " indices");
+        } catch (RuntimeException | Error e) {
+            registry.free(vertices);
+            throw e;
+        }
+
+        float step = chunkSize / quads;
+        float originX = key.x() * chunkSize;
+        float originZ = key.z() * chunkSize;
+        for (int z = 0; z < side; z++) {
+            for (int x = 0; x < side; x++) {
+                float worldX = originX + x * step;
+                float worldZ = originZ + z * step;
+                vertices.put(worldX).put(heightmap.heightAt(worldX, worldZ)).put(worldZ);
+            }
+        }
+
+        for (int z = 0; z < quads; z++) {
+            for (int x = 0; x < quads; x++) {
+                int topLeft = z * side + x;
+                int bottomLeft = topLeft + side;
+                indices.put(topLeft).put(bottomLeft).put(topLeft + 1);
+                indices.put(topLeft + 1).put(bottomLeft).put(bottomLeft + 1);
+            }
+        }
+
+        // Skirts hang below every edge so cracks between chunks of different LOD stay hidden
+        for (int edge = 0; edge < EDGES; edge++) {
+            int skirtBase = surfaceVertices + edge * side;
+            for (int t = 0; t < side; t++) {
+                int surfaceIndex = edgeVertexIndex(edge, t, quads, side) * FLOATS_PER_VERTEX;
+                vertices.put(vertices.get(surfaceIndex))
+                        .put(vertices.get(surfaceIndex + 1) - skirtDepth)
+                        .put(vertices.get(surfaceIndex + 2));
+            }
+            for (int t = 0; t < quads; t++) {
+                int top = edgeVertexIndex(edge, t, quads, side);
+                int nextTop = edgeVertexIndex(edge, t + 1, quads, side);
+                int bottom = skirtBase + t;
+                indices.put(top).put(bottom).put(nextTop);
+                indices.put(nextTop).put(bottom).put(bottom + 1);
+            }
+        }
+
+        return new ChunkMesh(key, lod, vertices.flip(), indices.flip(), registry);
+    }
+
+    private static int edgeVertexIndex(int edge, int t, int quads, int side) {
+        return switch (edge) {
+            case 0 -> t;
+            case 1 -> quads * side + t;
+            case 2 -> t * side;
+            default -> t * side + quads;
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+import com.github.oleksandrkukotin.lwjgl.capture.GlRecorder;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+public class GpuChunk {
+
+    private final ChunkKey key;
+    private final int lod;
+    private final int vao;
+    private final int vbo;
+    private final int ebo;
+    private final int indexCount;
+    private final long byteSize;
+    private final GpuResourceRegistry registry;
+    private final GlRecorder gl;
+    private long lastVisibleFrame;
+
+    private GpuChunk(ChunkKey key, int lod, int vao, int vbo, int ebo, int indexCount, long byteSize,
+                     GpuResourceRegistry registry, GlRecorder gl) {
+        this.key = key;
+        this.lod = lod;
+        this.vao = vao;
+        this.vbo = vbo;
+        this.ebo = ebo;
+        this.indexCount = indexCount;
+        this.byteSize = byteSize;
+        this.registry = registry;
+        this.gl = gl;
+    }
+
+    public static GpuChunk upload(ChunkMesh mesh, GpuResourceRegistry registry, GlRecorder gl) {
+        String label = "terrain chunk " + mesh.getKey() + " lod " + mesh.getLod();
+        int vao = registry.createVertexArray(label);
+        int vbo = registry.createBuffer(label + " vertices");
+        int ebo = registry.createBuffer(label + " indices");
+
+        gl.glBindVertexArray(vao);
+
+        gl.glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        gl.glBufferData(GL_ARRAY_BUFFER, mesh.getVertices(), GL_STATIC_DRAW);
+
+        gl.glVertexAttribPointer(0, ChunkMeshBuilder.FLOATS_PER_VERTEX, GL_FLOAT, false,
+                ChunkMeshBuilder.FLOATS_PER_VERTEX * Float.BYTES, 0L);
+        gl.glEnableVertexAttribArray(0);
+
+        gl.glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        gl.glBufferData(GL_ELEMENT_ARRAY_BUFFER, mesh.getIndices(), GL_STATIC_DRAW);
+
+        gl.glBindVertexArray(0);
+
+        long vertexBytes = (long) mesh.getVertices().remaining() * Float.BYTES;
+        long indexBytes = (long) mesh.getIndices().remaining() * Integer.BYTES;
+        registry.updateSize(ResourceType.BUFFER, vbo, vertexBytes);
+        registry.updateSize(ResourceType.BUFFER, ebo, indexBytes);
+        return new GpuChunk(mesh.getKey(), mesh.getLod(), vao, vbo, ebo, mesh.getIndices().remaining(),
+                vertexBytes + indexBytes, registry, gl);
+    }
+
+    public void draw() {
+        gl.glBindVertexArray(vao);
+        gl.glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0L);
+    }
+
+    public void delete() {
+        registry.deleteVertexArray(vao);
+        registry.deleteBuffer(vbo);
+        registry.deleteBuffer(ebo);
+    }
+
+    public ChunkKey getKey() {
+        return key;
+    }
+
+    public int getLod() {
+        return lod;
+    }
+
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    public long getLastVisibleFrame() {
+        return lastVisibleFrame;
+    }
+
+    public void setLastVisibleFrame(long lastVisibleFrame) {
+        this.lastVisibleFrame = lastVisibleFrame;
+    }
+}
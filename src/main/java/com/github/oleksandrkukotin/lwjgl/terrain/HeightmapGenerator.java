@@ -0,0 +1,63 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+public class HeightmapGenerator {
+
+    private static final int OCTAVES = 5;
+    private static final float BASE_FREQUENCY = 0.02f;
+    private static final float LACUNARITY = 2.0f;
+    private static final float PERSISTENCE = 0.5f;
+
+    private final long seed;
+    private final float baseHeight;
+    private final float amplitude;
+
+    public HeightmapGenerator(long seed, float baseHeight, float amplitude) {
+        this.seed = seed;
+        this.baseHeight = baseHeight;
+        this.amplitude = amplitude;
+    }
+
+    public float heightAt(float x, float z) {
+        float frequency = BASE_FREQUENCY;
+        float octaveAmplitude = 1.0f;
+        float sum = 0.0f;
+        float normalization = 0.0f;
+        for (int octave = 0; octave < OCTAVES; octave++) {
+            sum += valueNoise(x * frequency, z * frequency, octave) * octaveAmplitude;
+            normalization += octaveAmplitude;
+            frequency *= LACUNARITY;
+            octaveAmplitude *= PERSISTENCE;
+        }
+        return baseHeight + amplitude * (sum / normalization);
+    }
+
+    private float valueNoise(float x, float z, int octave) {
+        int x0 = (int) Math.floor(x);
+        int z0 = (int) Math.floor(z);
+        float tx = smoothstep(x - x0);
+        float tz = smoothstep(z - z0);
+
+        float topLeft = lattice(x0, z0, octave);
+        float topRight = lattice(x0 + 1, z0, octave);
+        float bottomLeft = lattice(x0, z0 + 1, octave);
+        float bottomRight = lattice(x0 + 1, z0 + 1, octave);
+
+        float top = topLeft + (topRight - topLeft) * tx;
+        float bottom = bottomLeft + (bottomRight - bottomLeft) * tx;
+        return top + (bottom - top) * tz;
+    }
+
+    private float lattice(int x, int z, int octave) {
+        long hash = seed + octave * 0x9E3779B97F4A7C15L;
+        hash ^= x * 0xC2B2AE3D27D4EB4FL;
+        hash ^= z * 0x165667B19E3779F9L;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return (hash >>> 40) / (float) (1 << 23) - 1.0f;
+    }
+
+    private static float smoothstep(float t) {
+        return t * t * (3.0f - 2.0f * t);
+    }
+}
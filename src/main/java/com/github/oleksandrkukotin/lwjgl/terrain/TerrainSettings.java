@@ -0,0 +1,28 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+public record TerrainSettings(float chunkSize,
+                              int chunkResolution,
+                              int maxLod,
+                              float skirtDepth,
+                              int viewRadius,
+                              int workerThreads,
+                              int maxUploadsPerFrame,
+                              int maxPendingChunks) {
+
+    public static TerrainSettings defaults() {
+        return new TerrainSettings(
+                32.0f,
+                32,
+                3,
+                2.0f,
+                4,
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                2,
+                16
+        );
+    }
+
+    public int lodForDistance(int chunkDistance) {
+        return Math.clamp(chunkDistance - 1, 0, maxLod);
+    }
+}
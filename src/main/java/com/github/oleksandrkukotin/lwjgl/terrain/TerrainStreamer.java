@@ -0,0 +1,217 @@
+package com.github.oleksandrkukotin.lwjgl.terrain;
+
+import com.github.oleksandrkukotin.lwjgl.capture.GlRecorder;
+import com.github.oleksandrkukotin.lwjgl.core.resource.EvictionCallback;
+import com.github.oleksandrkukotin.lwjgl.core.resource.GpuResourceRegistry;
+import com.github.oleksandrkukotin.lwjgl.core.resource.ResourceType;
+import glm_.vec3.Vec3;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TerrainStreamer {
+
+    private final TerrainSettings settings;
+    private final ChunkMeshBuilder meshBuilder;
+    private final ExecutorService workers;
+    private final GpuResourceRegistry registry;
+    private final GlRecorder gl;
+    // The registry's BUFFER budget is the only one enforced, it calls back here when an upload pushes past it
+    private final EvictionCallback bufferEviction = (type, bytesOverBudget) -> evictLeastRecentlyVisible();
+
+    // Everything except the ready and failure queues is touched from the render thread only
+    private final Map<ChunkKey, Integer> pendingLods = new HashMap<>();
+    private final Queue<ChunkMesh> readyMeshes = new ConcurrentLinkedQueue<>();
+    private final Queue<ChunkRequest> failedRequests = new ConcurrentLinkedQueue<>();
+    private final LinkedHashMap<ChunkKey, GpuChunk> residentChunks = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long residentBytes;
+    private long frame;
+
+    public TerrainStreamer(TerrainSettings settings, HeightmapGenerator heightmap, GpuResourceRegistry registry,
+                           GlRecorder gl) {
+        this.settings = settings;
+        this.registry = registry;
+        this.gl = gl;
+        this.meshBuilder = new ChunkMeshBuilder(heightmap, settings.chunkSize(), settings.chunkResolution(),
+                settings.skirtDepth(), registry);
+        this.workers = Executors.newFixedThreadPool(settings.workerThreads(), workerThreadFactory());
+        registry.addEvictionCallback(ResourceType.BUFFER, bufferEviction);
+    }
+
+    public void update(Vec3 cameraPosition) {
+        frame++;
+        int cameraChunkX = (int) Math.floor(cameraPosition.x / settings.chunkSize());
+        int cameraChunkZ = (int) Math.floor(cameraPosition.z / settings.chunkSize());
+
+        // Stamp this frame's visible chunks before uploading, uploads may trigger eviction through the registry
+        requestVisibleChunks(cameraChunkX, cameraChunkZ);
+        uploadReadyChunks(cameraChunkX, cameraChunkZ);
+    }
+
+    public void render() {
+        for (GpuChunk chunk : residentChunks.values()) {
+            if (chunk.getLastVisibleFrame() == frame) {
+                chunk.draw();
+            }
+        }
+    }
+
+    public void shutdown() {
+        registry.removeEvictionCallback(ResourceType.BUFFER, bufferEviction);
+        workers.shutdownNow();
+        // Builds ignore interrupts, so wait for every worker to finish before draining what they produced
+        boolean interrupted = false;
+        while (!workers.isTerminated()) {
+            try {
+                workers.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        ChunkMesh mesh;
+        while ((mesh = readyMeshes.poll()) != null) {
+            mesh.free();
+        }
+        residentChunks.values().forEach(GpuChunk::delete);
+        residentChunks.clear();
+        failedRequests.clear();
+        pendingLods.clear();
+        residentBytes = 0;
+    }
+
+    private void uploadReadyChunks(int cameraChunkX, int cameraChunkZ) {
+        // Failed builds give their pending slot back so the chunk is requested again instead of staying a hole
+        ChunkRequest failed;
+        while ((failed = failedRequests.poll()) != null) {
+            pendingLods.remove(failed.key(), failed.lod());
+        }
+
+        int uploads = 0;
+        while (uploads < settings.maxUploadsPerFrame()) {
+            ChunkMesh mesh = readyMeshes.poll();
+            if (mesh == null) {
+                break;
+            }
+            pendingLods.remove(mesh.getKey(), mesh.getLod());
+            try {
+                if (isStillWanted(mesh, cameraChunkX, cameraChunkZ)) {
+                    GpuChunk chunk = GpuChunk.upload(mesh, registry, gl);
+                    chunk.setLastVisibleFrame(frame);
+                    GpuChunk replaced = residentChunks.put(chunk.getKey(), chunk);
+                    if (replaced != null) {
+                        residentBytes -= replaced.getByteSize();
+                        replaced.delete();
+                    }
+                    residentBytes += chunk.getByteSize();
+                    uploads++;
+                }
+            } finally {
+                mesh.free();
+            }
+        }
+    }
+
+    private boolean isStillWanted(ChunkMesh mesh, int cameraChunkX, int cameraChunkZ) {
+        int distance = mesh.getKey().distanceTo(cameraChunkX, cameraChunkZ);
+        if (distance > settings.viewRadius()) {
+            return false;
+        }
+        // A mesh at the wrong LOD is still better than a hole in the ground
+        return mesh.getLod() == settings.lodForDistance(distance) || !residentChunks.containsKey(mesh.getKey());
+    }
+
+    private void requestVisibleChunks(int cameraChunkX, int cameraChunkZ) {
+        List<ChunkRequest> requests = new ArrayList<>();
+        int radius = settings.viewRadius();
+        for (int z = cameraChunkZ - radius; z <= cameraChunkZ + radius; z++) {
+            for (int x = cameraChunkX - radius; x <= cameraChunkX + radius; x++) {
+                ChunkKey key = new ChunkKey(x, z);
+                int distance = key.distanceTo(cameraChunkX, cameraChunkZ);
+                int lod = settings.lodForDistance(distance);
+
+                GpuChunk resident = residentChunks.get(key);
+                if (resident != null) {
+                    resident.setLastVisibleFrame(frame);
+                }
+                if ((resident == null || resident.getLod() != lod) && !pendingLods.containsKey(key)) {
+                    requests.add(new ChunkRequest(key, lod, distance));
+                }
+            }
+        }
+
+        requests.sort(Comparator.comparingInt(ChunkRequest::distance));
+        for (ChunkRequest request : requests) {
+            if (pendingLods.size() >= settings.maxPendingChunks()) {
+                break;
+            }
+            pendingLods.put(request.key(), request.lod());
+            workers.execute(() -> build(request));
+        }
+    }
+
+    private void build(ChunkRequest request) {
+        try {
+            readyMeshes.add(meshBuilder.build(request.key(), request.lod()));
+        } catch (RuntimeException | Error e) {
+            failedRequests.add(request);
+            System.err.printf("Failed to build terrain chunk %s at lod %d: %s%n", request.key(), request.lod(), e);
+        }
+    }
+
+    private boolean evictLeastRecentlyVisible() {
+        Iterator<GpuChunk> leastRecentlyVisible = residentChunks.values().iterator();
+        if (!leastRecentlyVisible.hasNext()) {
+            return false;
+        }
+        GpuChunk chunk = leastRecentlyVisible.next();
+        if (chunk.getLastVisibleFrame() >= frame) {
+            // Visible chunks were touched last, so everything from here on is on screen
+            return false;
+        }
+        leastRecentlyVisible.remove();
+        residentBytes -= chunk.getByteSize();
+        chunk.delete();
+        return true;
+    }
+
+    public int getResidentChunkCount() {
+        return residentChunks.size();
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public int getPendingChunkCount() {
+        return pendingLods.size();
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "terrain-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record ChunkRequest(ChunkKey key, int lod, int distance) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AtlasLayoutTest {
+
+    @Test
+    void freshlyPackedImagesReportNoFragmentation() {
+        AtlasLayout layout = new AtlasLayout(512, 1);
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(layout.allocate(36, 36));
+        }
+
+        assertEquals(0.0f, layout.getFragmentation());
+        assertEquals(20 * 36 * 36 / (512.0f * 512.0f), layout.getOccupancy(), 1e-6f);
+    }
+
+    @Test
+    void removedImagesCountAsFragmentationUntilRepacked() {
+        AtlasLayout layout = new AtlasLayout(512, 1);
+        List<AtlasEntry> kept = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AtlasEntry entry = entry(30, 30);
+            entry.setRegion(layout.allocate(30, 30));
+            if (i % 2 == 0) {
+                layout.release(entry.getRegion());
+            } else {
+                kept.add(entry);
+            }
+        }
+
+        assertEquals(0.5f, layout.getFragmentation(), 1e-6f);
+
+        assertNotNull(layout.repack(kept));
+        assertEquals(0.0f, layout.getFragmentation());
+        assertEquals(2 * 30 * 30 / (512.0f * 512.0f), layout.getOccupancy(), 1e-6f);
+    }
+
+    @Test
+    void regionsCarryTheGutterAndMatchingTextureCoordinates() {
+        AtlasLayout layout = new AtlasLayout(256, 1);
+
+        AtlasRegion region = layout.allocate(64, 32);
+
+        assertEquals(new AtlasRegion(0, 1, 1, 64, 32, 1 / 256.0f, 1 / 256.0f, 65 / 256.0f, 33 / 256.0f), region);
+    }
+
+    @Test
+    void opensLayersUpToTheLimit() {
+        AtlasLayout layout = new AtlasLayout(64, 2);
+
+        assertEquals(0, layout.allocate(62, 62).layer());
+        assertEquals(1, layout.allocate(62, 62).layer());
+        assertNull(layout.allocate(1, 1));
+        assertEquals(2, layout.getLayerCount());
+    }
+
+    @Test
+    void failedRepackKeepsTheCurrentLayout() {
+        AtlasLayout layout = new AtlasLayout(64, 1);
+        AtlasEntry removed = entry(30, 62);
+        removed.setRegion(layout.allocate(30, 62));
+        AtlasEntry kept = entry(30, 62);
+        kept.setRegion(layout.allocate(30, 62));
+        layout.release(removed.getRegion());
+        float occupancy = layout.getOccupancy();
+
+        // Two full-height images fill the layer, so the third cannot be placed and the repack is abandoned
+        assertNull(layout.repack(List.of(kept, entry(30, 62), entry(30, 30))));
+
+        assertEquals(0.5f, layout.getFragmentation(), 1e-6f);
+        assertEquals(occupancy, layout.getOccupancy());
+        assertEquals(1, layout.getLayerCount());
+        assertNull(layout.allocate(1, 1));
+    }
+
+    private static AtlasEntry entry(int width, int height) {
+        return new AtlasEntry("image", width, height, null);
+    }
+}
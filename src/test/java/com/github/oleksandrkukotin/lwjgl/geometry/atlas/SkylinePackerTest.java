@@ -0,0 +1,75 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkylinePackerTest {
+
+    @Test
+    void packedRectsStayInBoundsAndNeverOverlap() {
+        SkylinePacker packer = new SkylinePacker(512, 512);
+        SplittableRandom random = new SplittableRandom(1L);
+        List<PackedRect> rects = new ArrayList<>();
+        PackedRect rect;
+        while ((rect = packer.pack(random.nextInt(8, 66), random.nextInt(8, 66))) != null) {
+            rects.add(rect);
+        }
+
+        long area = 0;
+        for (int i = 0; i < rects.size(); i++) {
+            PackedRect a = rects.get(i);
+            assertTrue(a.x() >= 0 && a.y() >= 0 && a.x() + a.width() <= 512 && a.y() + a.height() <= 512, a.toString());
+            area += (long) a.width() * a.height();
+            for (int j = i + 1; j < rects.size(); j++) {
+                assertFalse(overlap(a, rects.get(j)), a + " overlaps " + rects.get(j));
+            }
+        }
+        assertEquals(area, packer.getPackedArea());
+        assertTrue(packer.getOccupancy() > 0.7f, "occupancy " + packer.getOccupancy());
+    }
+
+    @Test
+    void exactlyFillingTheLayerLeavesNoRoom() {
+        SkylinePacker packer = new SkylinePacker(64, 64);
+        for (int i = 0; i < 16; i++) {
+            assertNotNull(packer.pack(16, 16));
+        }
+
+        assertEquals(1.0f, packer.getOccupancy());
+        assertNull(packer.pack(1, 1));
+    }
+
+    @Test
+    void rejectsRectsLargerThanTheLayer() {
+        SkylinePacker packer = new SkylinePacker(64, 64);
+
+        assertNull(packer.pack(65, 1));
+        assertNull(packer.pack(1, 65));
+        assertEquals(0L, packer.getPackedArea());
+    }
+
+    @Test
+    void resetEmptiesTheLayer() {
+        SkylinePacker packer = new SkylinePacker(64, 64);
+        packer.pack(64, 64);
+
+        packer.reset();
+
+        assertEquals(0L, packer.getPackedArea());
+        assertEquals(new PackedRect(0, 0, 64, 64), packer.pack(64, 64));
+    }
+
+    private static boolean overlap(PackedRect a, PackedRect b) {
+        return a.x() < b.x() + b.width() && b.x() < a.x() + a.width()
+                && a.y() < b.y() + b.height() && b.y() < a.y() + a.height();
+    }
+}
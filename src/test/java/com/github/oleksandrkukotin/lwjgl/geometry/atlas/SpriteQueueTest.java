@@ -0,0 +1,74 @@
+package com.github.oleksandrkukotin.lwjgl.geometry.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SpriteQueueTest {
+
+    private static final int SPRITE_FLOATS = SpriteQueue.VERTICES_PER_SPRITE * SpriteQueue.VERTEX_FLOATS;
+
+    @Test
+    void queuedSpritesSampleTheRegionTheyHaveAfterARepack() {
+        AtlasLayout layout = new AtlasLayout(128, 1);
+        AtlasEntry first = entry(20, 10);
+        AtlasEntry second = entry(40, 40);
+        first.setRegion(layout.allocate(20, 10));
+        second.setRegion(layout.allocate(40, 40));
+        AtlasRegion queuedRegion = second.getRegion();
+
+        SpriteQueue queue = new SpriteQueue(4);
+        queue.add(second, 5.0f, 6.0f, 40.0f, 40.0f, 1.0f, 1.0f, 1.0f, 1.0f);
+
+        // Tallest first moves the second image to the origin while the sprite is still queued
+        AtlasRegion[] regions = layout.repack(List.of(second, first));
+        assertNotNull(regions);
+        second.setRegion(regions[0]);
+        first.setRegion(regions[1]);
+        assertNotEquals(queuedRegion, second.getRegion());
+
+        FloatBuffer vertices = FloatBuffer.allocate(4 * SPRITE_FLOATS);
+        assertEquals(1, queue.writeVertices(vertices));
+        vertices.flip();
+
+        AtlasRegion region = second.getRegion();
+        float[] expected = {
+                5.0f, 6.0f, region.u0(), region.v1(), region.layer(), 1.0f, 1.0f, 1.0f, 1.0f,
+                45.0f, 6.0f, region.u1(), region.v1(), region.layer(), 1.0f, 1.0f, 1.0f, 1.0f,
+                45.0f, 46.0f, region.u1(), region.v0(), region.layer(), 1.0f, 1.0f, 1.0f, 1.0f,
+                5.0f, 46.0f, region.u0(), region.v0(), region.layer(), 1.0f, 1.0f, 1.0f, 1.0f
+        };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], vertices.get(i), "vertex float " + i);
+        }
+    }
+
+    @Test
+    void spritesOfEntriesRemovedAfterQueueingAreSkipped() {
+        AtlasLayout layout = new AtlasLayout(128, 1);
+        AtlasEntry kept = entry(16, 16);
+        AtlasEntry removed = entry(16, 16);
+        kept.setRegion(layout.allocate(16, 16));
+        removed.setRegion(layout.allocate(16, 16));
+
+        SpriteQueue queue = new SpriteQueue(4);
+        queue.add(removed, 0.0f, 0.0f, 16.0f, 16.0f, 1.0f, 1.0f, 1.0f, 1.0f);
+        queue.add(kept, 0.0f, 0.0f, 16.0f, 16.0f, 1.0f, 1.0f, 1.0f, 1.0f);
+        layout.release(removed.getRegion());
+        removed.setRegion(null);
+
+        FloatBuffer vertices = FloatBuffer.allocate(4 * SPRITE_FLOATS);
+        assertEquals(1, queue.writeVertices(vertices));
+        assertEquals(SPRITE_FLOATS, vertices.position());
+        assertEquals(kept.getRegion().u0(), vertices.get(2));
+    }
+
+    private static AtlasEntry entry(int width, int height) {
+        return new AtlasEntry("image", width, height, null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.oleksandrkukotin.lwjgl.particles;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ParticleUpdaterTest {
+
+    private static final float DELTA_TIME = 0.01f;
+    private static final int PARTICLES = 3 * ParticleUpdater.SLICE_SIZE + 123;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void updateKeepsExactlyTheLivingParticlesInOrder(boolean vectorApi) {
+        assumeTrue(!vectorApi || ParticleUpdater.VECTOR_API_AVAILABLE);
+        ParticleStorage particles = new ParticleStorage(PARTICLES);
+        int expectedAlive = 0;
+        for (int i = 0; i < PARTICLES; i++) {
+            if (!dies(i)) {
+                expectedAlive++;
+            }
+            // The red channel carries the spawn index so survivors can be identified after compaction
+            particles.spawn(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, i, 0.0f, 0.0f, dies(i) ? DELTA_TIME * 0.5f : 1.0f);
+        }
+
+        new ParticleUpdater(0.0f, vectorApi).update(particles, DELTA_TIME);
+
+        assertEquals(expectedAlive, particles.getAliveCount());
+        int survivor = 0;
+        for (int i = 0; i < PARTICLES; i++) {
+            if (!dies(i)) {
+                assertEquals(i, (int) particles.red[survivor], "survivor " + survivor);
+                assertEquals(1.0f - DELTA_TIME, particles.life[survivor], "life of survivor " + survivor);
+                survivor++;
+            }
+        }
+    }
+
+    @Test
+    void updateRemovesEveryParticleWhenAllExpire() {
+        ParticleStorage particles = new ParticleStorage(PARTICLES);
+        for (int i = 0; i < PARTICLES; i++) {
+            particles.spawn(0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f, DELTA_TIME);
+        }
+
+        new ParticleUpdater(0.0f).update(particles, DELTA_TIME);
+
+        assertEquals(0, particles.getAliveCount());
+    }
+
+    @Test
+    void vectorAndScalarKernelsIntegrateIdentically() {
+        assumeTrue(ParticleUpdater.VECTOR_API_AVAILABLE);
+        ParticleStorage vectorParticles = new ParticleStorage(PARTICLES);
+        ParticleStorage scalarParticles = new ParticleStorage(PARTICLES);
+        for (int i = 0; i < PARTICLES; i++) {
+            float velocity = (i % 97) * 0.25f;
+            vectorParticles.spawn(i, -i, 0.5f * i, velocity, -velocity, 1.0f, 1.0f, 1.0f, 1.0f, 5.0f);
+            scalarParticles.spawn(i, -i, 0.5f * i, velocity, -velocity, 1.0f, 1.0f, 1.0f, 1.0f, 5.0f);
+        }
+
+        new ParticleUpdater(-9.81f, true).update(vectorParticles, DELTA_TIME);
+        new ParticleUpdater(-9.81f, false).update(scalarParticles, DELTA_TIME);
+
+        assertArrayEquals(scalarParticles.positionX, vectorParticles.positionX);
+        assertArrayEquals(scalarParticles.positionY, vectorParticles.positionY);
+        assertArrayEquals(scalarParticles.positionZ, vectorParticles.positionZ);
+        assertArrayEquals(scalarParticles.velocityY, vectorParticles.velocityY);
+        assertArrayEquals(scalarParticles.life, vectorParticles.life);
+    }
+
+    // Kills the last particle of every slice, the first of every other slice, and a scattering in between
+    private static boolean dies(int index) {
+        int inSlice = index % ParticleUpdater.SLICE_SIZE;
+        int slice = index / ParticleUpdater.SLICE_SIZE;
+        return inSlice == ParticleUpdater.SLICE_SIZE - 1
+                || (inSlice == 0 && slice % 2 == 1)
+                || index % 7 == 3
+                || index == PARTICLES - 1;
+    }
+}